@@ -0,0 +1,88 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.util.Arrays;
+
+// perkalian kunci x teks gaya GEMM dengan cache blocking dua tingkat
+// teks ternormalisasi dipandang sebagai matriks n x (L/n) (kolom ke-t = blok ke-t), lalu C = K x T
+// tingkat L2: panel kolom disalin sekali ke layout baris (packing) dan tinggal di L2 selama dikalikan
+// tingkat L1: panel diproses per strip kolom yang muat di L1 (setiap strip disimpan berurutan di panel,
+// supaya baris-barisnya tidak berjarak kelipatan 4 KB dan saling menggusur di cache); untuk setiap baris kunci
+// acc[t] += k(i,j) * T(j,t) berjalan di loop dalam yang panjang dan berurutan, sehingga JIT bisa
+// auto-vectorize; kunci 16x16 hanya 1 KB jadi selalu tinggal di L1 dan tidak perlu diblok lagi
+final class BlockedHillKernel {
+
+    // ukuran cache data yang diasumsikan; panel/strip (n x lebar int) mengisi setengahnya,
+    // sisanya untuk akumulator dan potongan teks input/output
+    private static final int L1_BYTES = 32 * 1024;
+    private static final int L2_BYTES = 256 * 1024;
+    private static final int MIN_STRIP_BLOCKS = 64;
+
+    private BlockedHillKernel() {
+    }
+
+    // jumlah blok per strip L1 untuk ukuran kunci size (kelipatan 16 supaya loop dalam rapi),
+    // sekaligus jumlah blok minimum supaya kernel ini dipakai
+    static int stripBlocks(int size) {
+        return fit(L1_BYTES, size, MIN_STRIP_BLOCKS);
+    }
+
+    // jumlah blok per panel L2 (kelipatan strip)
+    static int panelBlocks(int size) {
+        int strip = stripBlocks(size);
+        return Math.max(strip, fit(L2_BYTES, size, strip) / strip * strip);
+    }
+
+    private static int fit(int cacheBytes, int size, int min) {
+        int blocks = cacheBytes / 2 / (size * Integer.BYTES);
+        return Math.max(min, blocks / 16 * 16);
+    }
+
+    // kalikan blok [from, to) dengan kunci mod mod; in dan out boleh array yang sama
+    static void transform(int[] key, int size, int mod, byte[] in, byte[] out, int from, int to) {
+        ModularArithmetic.Reducer reducer = ModularArithmetic.reducer(mod);
+        int strip = stripBlocks(size);
+        int panel = Math.min(panelBlocks(size), ((to - from) / size + strip - 1) / strip * strip);
+        // strip ke-q di cols[q * size * strip ...], di dalamnya [j * strip + t] = simbol ke-j dari blok ke-t strip itu
+        int[] cols = new int[size * panel];
+        int[] acc = new int[strip];
+
+        for (int b = from; b < to; b += panel * size) {
+            int blocks = Math.min(panel, (to - b) / size);
+
+            // packing panel (teks disimpan per blok, dibaca per baris matriks)
+            for (int t = 0, p = b; t < blocks; t++, p += size) {
+                int at = t / strip * size * strip + t % strip;
+                for (int j = 0; j < size; j++) {
+                    cols[at + j * strip] = in[p + j] & 0xFF;
+                }
+            }
+
+            for (int s = 0; s < blocks; s += strip) {
+                int width = Math.min(strip, blocks - s);
+                for (int i = 0; i < size; i++) {
+                    Arrays.fill(acc, 0, width, 0);
+                    int k = i * size;
+                    for (int j = 0; j < size; j++) {
+                        int coefficient = key[k + j];
+                        if (coefficient == 0) {
+                            continue;
+                        }
+                        int base = s * size + j * strip;
+                        for (int t = 0; t < width; t++) {
+                            acc[t] += coefficient * cols[base + t];
+                        }
+                    }
+                    // acc <= size * (mod - 1)^2, direduksi sekali per baris
+                    for (int t = 0, p = b + s * size + i; t < width; t++, p += size) {
+                        out[p] = (byte) reducer.reduce(acc[t]);
+                    }
+                }
+            }
+        }
+    }
+}
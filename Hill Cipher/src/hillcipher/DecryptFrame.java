@@ -386,6 +386,11 @@ public class DecryptFrame extends javax.swing.JFrame {
         kunci3x3Input.setBackground(inputColor);
         kunci3x3Input.setForeground(textColor);
 
+        // hanya huruf A-Z yang dienkripsi (mod 26): spasi dan tanda baca diabaikan, angka atau huruf lain ditolak
+        String inputHint = "Ciphertext hanya huruf A-Z; spasi dan tanda baca diabaikan, angka atau huruf lain (mis. ß) ditolak";
+        kalimat2x2Input.setToolTipText(inputHint);
+        kalimat3x3Input.setToolTipText(inputHint);
+
         // 9. button
         decrypt2x2Button.setBackground(buttonColor);
         decrypt2x2Button.setForeground(textColor);
@@ -530,7 +535,7 @@ public class DecryptFrame extends javax.swing.JFrame {
             }
 
             // deskripsi proses
-            HillCipherUtility.DecryptionResult result = HillCipherUtility.decryptWithDetails(ciphertext, keyMatrix, 0);
+            HillCipherUtility.DecryptionResult result = HillCipherUtility.decryptWithDetails(ciphertext, keyMatrix, 0, HillTracePolicy.DEFAULT);
 
             // tampilkan hasil
             new HasilDecryptFrame(ciphertext, result.getPlaintext(), keyMatrix, 2, result.getSteps()).setVisible(true);
@@ -592,7 +597,7 @@ public class DecryptFrame extends javax.swing.JFrame {
             }
 
             // deskripsi proses
-            HillCipherUtility.DecryptionResult result = HillCipherUtility.decryptWithDetails3x3(ciphertext, keyMatrix, 0);
+            HillCipherUtility.DecryptionResult result = HillCipherUtility.decryptWithDetails3x3(ciphertext, keyMatrix, 0, HillTracePolicy.DEFAULT);
 
             // tampilkan hasil
             new HasilDecryptFrame(ciphertext, result.getPlaintext(), keyMatrix, 3, result.getSteps()).setVisible(true);
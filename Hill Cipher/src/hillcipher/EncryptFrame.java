@@ -384,6 +384,11 @@ public class EncryptFrame extends javax.swing.JFrame {
         kunci3x3Input.setBackground(inputColor);
         kunci3x3Input.setForeground(textColor);
 
+        // hanya huruf A-Z yang dienkripsi (mod 26): spasi dan tanda baca diabaikan, angka atau huruf lain ditolak
+        String inputHint = "Plaintext hanya huruf A-Z; spasi dan tanda baca diabaikan, angka atau huruf lain (mis. ß) ditolak";
+        kalimat2x2Input.setToolTipText(inputHint);
+        kalimat3x3Input.setToolTipText(inputHint);
+
         // button
         encrypt2x2Button.setBackground(buttonColor);
         encrypt2x2Button.setForeground(textColor);
@@ -497,7 +502,7 @@ public class EncryptFrame extends javax.swing.JFrame {
                 return;
             }
 
-            HillCipherUtility.EncryptionResultWithPadding result = HillCipherUtility.encryptWithDetails(plaintext, keyMatrix);
+            HillCipherUtility.EncryptionResultWithPadding result = HillCipherUtility.encryptWithDetails(plaintext, keyMatrix, HillTracePolicy.DEFAULT);
 
             // tampilkan hasil
             new HasilEncryptFrame(plaintext, result.getCiphertext(), keyMatrix, 2, result.getSteps(), result.getPaddingCount()).setVisible(true);
@@ -534,7 +539,7 @@ public class EncryptFrame extends javax.swing.JFrame {
                 return;
             }
 
-            HillCipherUtility.EncryptionResultWithPadding result = HillCipherUtility.encryptWithDetails3x3(plaintext, keyMatrix);
+            HillCipherUtility.EncryptionResultWithPadding result = HillCipherUtility.encryptWithDetails3x3(plaintext, keyMatrix, HillTracePolicy.DEFAULT);
 
             // tampilkan hasil
             new HasilEncryptFrame(plaintext, result.getCiphertext(), keyMatrix, 3, result.getSteps(), result.getPaddingCount()).setVisible(true);
@@ -0,0 +1,226 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+// mode format-preserving: hanya karakter alfabet yang dienkripsi, spasi, tanda baca dan karakter lain
+// tetap di posisinya, dan kapitalisasi huruf asli dipertahankan (untuk alfabet ignoreCase)
+// alfabet ignoreCase yang punya simbol tanpa huruf besar/kecil (mis. ALPHANUMERIC) ditolak: huruf kecil yang
+// terenkripsi jadi angka akan kehilangan kapitalisasinya, jadi dekripsi tidak mengembalikan teks asli
+// satu pass streaming: karakter mentah segmen yang belum lengkap disimpan bersama mask per posisi
+// (simbol / simbol dengan kapitalisasi dibalik / karakter lain), jadi teks asli tidak dipindai ulang
+// padding enkripsi disisipkan tepat setelah karakter alfabet terakhir
+public final class FormatPreservingCipher {
+
+    // nilai mask per posisi karakter
+    private static final byte OTHER = 0;
+    private static final byte SYMBOL = 1;
+    private static final byte SYMBOL_SWAP_CASE = 2;
+
+    private FormatPreservingCipher() {
+    }
+
+    // enkripsi teks, karakter non-alfabet dan kapitalisasi tetap
+    public static String encrypt(CharSequence plaintext, HillKey key) {
+        StringWriter out = new StringWriter(plaintext.length() + key.getSize());
+        try {
+            encrypt(new StringReader(plaintext.toString()), out, key);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringReader/StringWriter tidak melempar IOException
+        }
+        return out.toString();
+    }
+
+    // dekripsi teks hasil encrypt, paddingCount simbol terakhir dibuang
+    public static String decrypt(CharSequence ciphertext, HillKey key, int paddingCount) {
+        StringWriter out = new StringWriter(ciphertext.length());
+        try {
+            decrypt(new StringReader(ciphertext.toString()), out, key, paddingCount);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    // enkripsi dari Reader ke Writer
+    public static HillCipherStream.StreamResult encrypt(Reader in, Writer out, HillKey key) throws IOException {
+        return new Pipeline(key, true, 0).run(in, out);
+    }
+
+    // dekripsi dari Reader ke Writer, paddingCount simbol terakhir dibuang (karakter lain tetap)
+    public static HillCipherStream.StreamResult decrypt(Reader in, Writer out, HillKey key, int paddingCount) throws IOException {
+        return new Pipeline(key, false, paddingCount).run(in, out);
+    }
+
+    // satu kali proses streaming
+    // segmen = karakter sejak simbol pertama yang belum ditulis; chars/mask sejajar per posisi,
+    // symbols berisi simbol segmen berurutan
+    // dekripsi menahan satu blok terakhir sampai akhir stream karena bisa berisi padding
+    private static final class Pipeline {
+        private final HillKey key;
+        private final HillAlphabet alphabet;
+        private final boolean encrypt;
+        private final int size;
+        private final int paddingCount;
+        private final int holdBack;
+
+        private final char[] input = new char[HillCipherStream.CHUNK_SIZE];
+        private char[] chars = new char[HillCipherStream.CHUNK_SIZE];
+        private byte[] mask = new byte[HillCipherStream.CHUNK_SIZE];
+        private byte[] symbols;
+        private char[] rendered;
+
+        private int charCount;
+        private int symbolCount;
+        private long totalSymbols;
+
+        private Pipeline(HillKey key, boolean encrypt, int paddingCount) {
+            this.key = key;
+            this.alphabet = key.getAlphabet();
+            if (alphabet.isIgnoreCase() && !alphabet.isFullyCased()) {
+                throw new IllegalArgumentException("Alfabet " + alphabet + " tidak bisa dipakai format-preserving: "
+                        + "abaikan huruf besar/kecil tapi ada simbol tanpa huruf besar/kecil");
+            }
+            this.encrypt = encrypt;
+            this.size = key.getSize();
+            if (paddingCount < 0 || paddingCount >= size) {
+                throw new IllegalArgumentException("Jumlah padding harus antara 0 dan " + (size - 1));
+            }
+            this.paddingCount = paddingCount;
+            this.holdBack = encrypt ? 0 : size;
+            this.symbols = new byte[HillCipherStream.CHUNK_SIZE + size];
+            this.rendered = new char[HillCipherStream.CHUNK_SIZE + size];
+        }
+
+        private HillCipherStream.StreamResult run(Reader in, Writer out) throws IOException {
+            int read;
+            while ((read = in.read(input, 0, input.length)) != -1) {
+                append(read);
+                flush(out, false);
+            }
+            return finish(out);
+        }
+
+        // tambahkan karakter input ke segmen, tandai posisi simbol di mask
+        private void append(int read) {
+            ensureCapacity(charCount + read, symbolCount + read + size);
+            for (int i = 0; i < read; i++) {
+                char ch = input[i];
+                int symbol = alphabet.indexOf(ch);
+                if (symbol >= 0) {
+                    symbols[symbolCount++] = (byte) symbol;
+                    mask[charCount] = ch == alphabet.charAt(symbol) ? SYMBOL : SYMBOL_SWAP_CASE;
+                } else {
+                    mask[charCount] = OTHER;
+                }
+                chars[charCount++] = ch;
+            }
+        }
+
+        // tulis semua blok lengkap (kecuali blok yang ditahan) beserta karakter lain sebelum simbol berikutnya
+        // di akhir stream semua simbol ditulis, untuk dekripsi tanpa paddingCount simbol terakhir
+        private void flush(Writer out, boolean last) throws IOException {
+            int ready = last ? symbolCount : Math.max(0, symbolCount - holdBack) / size * size;
+            int emitted = last && !encrypt ? Math.max(0, symbolCount - paddingCount) : ready;
+            transform(ready);
+
+            rendered = ensure(rendered, charCount);
+            int length = 0;
+            int position = 0;
+            for (int symbol = 0; position < charCount; position++) {
+                byte kind = mask[position];
+                if (kind == OTHER) {
+                    rendered[length++] = chars[position];
+                } else if (symbol == ready) {
+                    break; // simbol pertama blok yang belum lengkap / ditahan
+                } else {
+                    if (symbol < emitted) {
+                        char ch = alphabet.charAt(symbols[symbol] & 0xFF);
+                        rendered[length++] = kind == SYMBOL ? ch : swapCase(ch);
+                    }
+                    symbol++;
+                }
+            }
+            out.write(rendered, 0, length);
+            totalSymbols += emitted;
+
+            // geser sisa segmen ke depan
+            System.arraycopy(chars, position, chars, 0, charCount - position);
+            System.arraycopy(mask, position, mask, 0, charCount - position);
+            System.arraycopy(symbols, ready, symbols, 0, symbolCount - ready);
+            charCount -= position;
+            symbolCount -= ready;
+        }
+
+        private HillCipherStream.StreamResult finish(Writer out) throws IOException {
+            int padding = 0;
+            if (encrypt) {
+                padding = HillCipherEngine.paddingFor(symbolCount, size);
+                if (padding > 0) {
+                    insertPadding(padding);
+                }
+            } else if (symbolCount % size != 0) {
+                throw new IllegalArgumentException("Panjang ciphertext (" + (totalSymbols + symbolCount) + ") harus kelipatan " + size);
+            }
+            flush(out, true);
+            out.flush();
+            return new HillCipherStream.StreamResult(encrypt ? totalSymbols - padding : totalSymbols, padding);
+        }
+
+        // sisipkan simbol padding tepat setelah karakter alfabet terakhir di segmen
+        private void insertPadding(int padding) {
+            int last = charCount - 1;
+            while (mask[last] == OTHER) last--;
+            int tail = charCount - last - 1;
+            ensureCapacity(charCount + padding, symbolCount + padding);
+            System.arraycopy(chars, last + 1, chars, last + 1 + padding, tail);
+            System.arraycopy(mask, last + 1, mask, last + 1 + padding, tail);
+            char ch = alphabet.charAt(alphabet.getPaddingSymbol());
+            for (int i = 0; i < padding; i++) {
+                chars[last + 1 + i] = ch;
+                mask[last + 1 + i] = SYMBOL;
+                symbols[symbolCount++] = alphabet.getPaddingSymbol();
+            }
+            charCount += padding;
+        }
+
+        private void transform(int length) {
+            if (encrypt) {
+                key.encryptBlocks(symbols, symbols, 0, length);
+            } else {
+                key.decryptBlocks(symbols, symbols, 0, length);
+            }
+        }
+
+        private void ensureCapacity(int charCapacity, int symbolCapacity) {
+            if (charCapacity > chars.length) {
+                int capacity = Math.max(charCapacity, chars.length * 2);
+                chars = Arrays.copyOf(chars, capacity);
+                mask = Arrays.copyOf(mask, capacity);
+            }
+            symbols = ensure(symbols, symbolCapacity);
+        }
+
+        private static byte[] ensure(byte[] buffer, int capacity) {
+            return capacity <= buffer.length ? buffer : Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+        }
+
+        private static char[] ensure(char[] buffer, int capacity) {
+            return capacity <= buffer.length ? buffer : Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+        }
+
+        private static char swapCase(char ch) {
+            return Character.isUpperCase(ch) ? Character.toLowerCase(ch) : Character.toUpperCase(ch);
+        }
+    }
+}
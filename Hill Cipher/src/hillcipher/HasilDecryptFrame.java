@@ -262,14 +262,11 @@ public class HasilDecryptFrame extends javax.swing.JFrame {
         // tampilkan plaintext di hasil output
         hasilOutput.setText(plaintext);
 
-        // tampilkan langkah-langkah detail di text area
-        StringBuilder processDetails = new StringBuilder();
-        for (String step : steps) {
-            processDetails.append(step).append("\n");
-        }
-
-        prosesDecryptionOutput.setText(processDetails.toString());
-        prosesDecryptionOutput.setCaretPosition(0); // Scroll ke atas
+        // langkah-langkah detail ditampilkan di viewer virtual (hanya baris yang terlihat yang dirender),
+        // menggantikan text area di panel proses
+        HillTraceViewer viewer = new HillTraceViewer(steps, prosesDecryptionOutput.getFont(),
+                prosesDecryptionOutput.getBackground(), prosesDecryptionOutput.getForeground());
+        ((javax.swing.GroupLayout) jPanel1.getLayout()).replace(jScrollPane1, viewer);
     }
     
     private void backButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_backButtonActionPerformed
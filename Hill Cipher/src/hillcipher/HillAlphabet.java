@@ -0,0 +1,218 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.util.Arrays;
+
+// alfabet Hill Cipher: himpunan karakter yang dienkripsi, modulus = jumlah karakter
+// konversi karakter <-> simbol lewat array yang dihitung sekali, tanpa Character.isLetter/toUpperCase
+public final class HillAlphabet {
+
+    public static final int MAX_MODULUS = 256; // simbol disimpan sebagai byte
+
+    // A-Z mod 26 (huruf kecil dianggap huruf besar)
+    public static final HillAlphabet LATIN = new HillAlphabet("LATIN", "ABCDEFGHIJKLMNOPQRSTUVWXYZ", true, 'X');
+
+    // A-Z0-9 mod 36, angka ikut dienkripsi dan kembali utuh
+    public static final HillAlphabet ALPHANUMERIC = new HillAlphabet("ALPHANUMERIC", "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789", true, 'X');
+
+    // semua karakter ASCII yang bisa dicetak (spasi sampai '~') mod 95, huruf besar/kecil dibedakan
+    public static final HillAlphabet PRINTABLE_ASCII = new HillAlphabet("PRINTABLE_ASCII", printableAscii(), false, 'X');
+
+    private final String name;
+    private final char[] symbols;
+    private final short[] indexOf;
+    private final boolean ignoreCase;
+    private final byte paddingSymbol;
+
+    private HillAlphabet(String name, String symbols, boolean ignoreCase, char padding) {
+        int modulus = symbols.length();
+        if (modulus < 2 || modulus > MAX_MODULUS) {
+            throw new IllegalArgumentException("Alfabet harus berisi 2 sampai " + MAX_MODULUS + " karakter");
+        }
+
+        char max = 127;
+        for (int i = 0; i < modulus; i++) {
+            max = (char) Math.max(max, Math.max(symbols.charAt(i), Character.toLowerCase(symbols.charAt(i))));
+        }
+
+        this.name = name;
+        this.symbols = symbols.toCharArray();
+        this.ignoreCase = ignoreCase;
+        this.indexOf = new short[max + 1];
+        Arrays.fill(indexOf, (short) -1);
+
+        for (int i = 0; i < modulus; i++) {
+            char ch = symbols.charAt(i);
+            if (indexOf[ch] != -1) {
+                throw new IllegalArgumentException("Karakter '" + ch + "' muncul lebih dari sekali di alfabet");
+            }
+            indexOf[ch] = (short) i;
+        }
+        if (ignoreCase) {
+            // huruf dengan kapitalisasi lain ikut dipetakan, kalau belum dipakai sendiri
+            for (int i = 0; i < modulus; i++) {
+                char upper = Character.toUpperCase(symbols.charAt(i));
+                char lower = Character.toLowerCase(symbols.charAt(i));
+                if (upper < indexOf.length && indexOf[upper] == -1) indexOf[upper] = (short) i;
+                if (indexOf[lower] == -1) indexOf[lower] = (short) i;
+            }
+        }
+
+        int paddingIndex = padding < indexOf.length ? indexOf[padding] : -1;
+        this.paddingSymbol = (byte) (paddingIndex != -1 ? paddingIndex : modulus - 1);
+    }
+
+    // alfabet kustom, padding 'X' kalau ada di alfabet, kalau tidak karakter terakhir
+    public static HillAlphabet of(String symbols, boolean ignoreCase) {
+        return new HillAlphabet("CUSTOM", symbols, ignoreCase, 'X');
+    }
+
+    // alfabet kustom dengan karakter padding tertentu
+    public static HillAlphabet of(String symbols, boolean ignoreCase, char padding) {
+        return new HillAlphabet("CUSTOM", symbols, ignoreCase, padding);
+    }
+
+    public String getName() { return name; }
+    public int getModulus() { return symbols.length; }
+    public boolean isIgnoreCase() { return ignoreCase; }
+    public byte getPaddingSymbol() { return paddingSymbol; }
+    public String getSymbols() { return new String(symbols); }
+
+    // apakah setiap karakter alfabet punya huruf besar/kecil (mis. false untuk angka di ALPHANUMERIC)
+    public boolean isFullyCased() {
+        for (char ch : symbols) {
+            if (Character.toUpperCase(ch) == Character.toLowerCase(ch)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // apakah semua karakter alfabet muat di 1 byte (ASCII/Latin-1)
+    public boolean isSingleByte() {
+        for (char ch : symbols) {
+            if (ch > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // karakter -> simbol, -1 kalau bukan bagian alfabet
+    public int indexOf(char ch) {
+        return ch < indexOf.length ? indexOf[ch] : -1;
+    }
+
+    // simbol -> karakter
+    public char charAt(int symbol) {
+        return symbols[symbol];
+    }
+
+    // normalisasi teks ke simbol, karakter di luar alfabet diabaikan
+    // out minimal sepanjang text.length(), return jumlah simbol yang ditulis
+    public int normalize(CharSequence text, byte[] out, int offset) {
+        short[] table = indexOf;
+        int count = offset;
+        for (int i = 0, len = text.length(); i < len; i++) {
+            char ch = text.charAt(i);
+            int symbol = ch < table.length ? table[ch] : -1;
+            if (symbol >= 0) {
+                out[count++] = (byte) symbol;
+            }
+        }
+        return count - offset;
+    }
+
+    // sama dengan normalize, tapi huruf/angka yang tidak ada di alfabet (mis. '7' atau 'ß' untuk LATIN)
+    // ditolak dengan IllegalArgumentException, bukan dibuang diam-diam; spasi dan tanda baca tetap diabaikan
+    public int normalizeStrict(CharSequence text, byte[] out, int offset) {
+        short[] table = indexOf;
+        int count = offset;
+        for (int i = 0, len = text.length(); i < len; i++) {
+            char ch = text.charAt(i);
+            int symbol = ch < table.length ? table[ch] : -1;
+            if (symbol >= 0) {
+                out[count++] = (byte) symbol;
+            } else if (Character.isLetterOrDigit(ch)) {
+                throw new IllegalArgumentException("Karakter '" + ch + "' tidak didukung alfabet " + this
+                        + ", hanya " + new String(symbols) + " yang dienkripsi");
+            }
+        }
+        return count - offset;
+    }
+
+    // normalisasi karakter in[from, to) ke out mulai dari offset, return jumlah simbol yang ditulis
+    public int normalize(char[] in, int from, int to, byte[] out, int offset) {
+        short[] table = indexOf;
+        int count = offset;
+        for (int i = from; i < to; i++) {
+            char ch = in[i];
+            int symbol = ch < table.length ? table[ch] : -1;
+            if (symbol >= 0) {
+                out[count++] = (byte) symbol;
+            }
+        }
+        return count - offset;
+    }
+
+    // sama dengan normalize(char[], ...) tapi simbol ditulis sebagai int (dipakai HillCipherUtility.textToNumbers)
+    public int normalize(char[] in, int from, int to, int[] out, int offset) {
+        short[] table = indexOf;
+        int count = offset;
+        for (int i = from; i < to; i++) {
+            char ch = in[i];
+            int symbol = ch < table.length ? table[ch] : -1;
+            if (symbol >= 0) {
+                out[count++] = symbol;
+            }
+        }
+        return count - offset;
+    }
+
+    // normalisasi teks 1 byte per karakter (ASCII/Latin-1), in dan out boleh array yang sama
+    public int normalize(byte[] in, int from, int to, byte[] out, int offset) {
+        short[] table = indexOf;
+        int count = offset;
+        for (int i = from; i < to; i++) {
+            int ch = in[i] & 0xFF;
+            int symbol = ch < table.length ? table[ch] : -1;
+            if (symbol >= 0) {
+                out[count++] = (byte) symbol;
+            }
+        }
+        return count - offset;
+    }
+
+    // render simbol [from, to) ke buffer karakter mulai dari outOffset
+    public void render(byte[] in, int from, int to, char[] out, int outOffset) {
+        char[] chars = symbols;
+        for (int i = from; i < to; i++) {
+            out[outOffset++] = chars[in[i] & 0xFF];
+        }
+    }
+
+    // render simbol [from, to) sebagai teks 1 byte per karakter (alfabet harus ASCII/Latin-1)
+    public void render(byte[] in, int from, int to, byte[] out, int outOffset) {
+        char[] chars = symbols;
+        for (int i = from; i < to; i++) {
+            out[outOffset++] = (byte) chars[in[i] & 0xFF];
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + "(mod " + symbols.length + ")";
+    }
+
+    private static String printableAscii() {
+        StringBuilder sb = new StringBuilder();
+        for (char ch = ' '; ch <= '~'; ch++) {
+            sb.append(ch);
+        }
+        return sb.toString();
+    }
+}
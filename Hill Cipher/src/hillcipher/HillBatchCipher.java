@@ -0,0 +1,159 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+// enkripsi batch banyak pesan pendek dengan sedikit kunci
+// pesan dikelompokkan per id kunci, setiap kunci dikompilasi/dicari sekali, lalu semua pesan satu kunci
+// dinormalisasi berurutan ke satu arena simbol sehingga perkalian blok berjalan sekali per kunci
+// (tabel lookup, kernel SIMD/GEMM dan fork/join ikut terpakai untuk seluruh kelompok);
+// hasil dirender ke satu arena char bersama, per pesan hanya dicatat offset dan panjang
+public final class HillBatchCipher {
+
+    private HillBatchCipher() {
+    }
+
+    // satu pesan di batch
+    public static class Message {
+        private final String keyId;
+        private final CharSequence text;
+
+        public Message(String keyId, CharSequence text) {
+            this.keyId = keyId;
+            this.text = text;
+        }
+
+        public String getKeyId() { return keyId; }
+        public CharSequence getText() { return text; }
+    }
+
+    // hasil batch: ciphertext pesan ke-i ada di arena[offset(i), offset(i) + length(i))
+    // arena dikelompokkan per kunci, bukan urutan input
+    public static class BatchResult {
+        private final char[] arena;
+        private final int[] offsets;
+        private final int[] lengths;
+        private final int[] paddingCounts;
+
+        public BatchResult(char[] arena, int[] offsets, int[] lengths, int[] paddingCounts) {
+            this.arena = arena;
+            this.offsets = offsets;
+            this.lengths = lengths;
+            this.paddingCounts = paddingCounts;
+        }
+
+        // arena bersama (tidak disalin)
+        public char[] getArena() { return arena; }
+        public int size() { return offsets.length; }
+        public int getOffset(int index) { return offsets[index]; }
+        public int getLength(int index) { return lengths[index]; }
+        public int getPaddingCount(int index) { return paddingCounts[index]; }
+
+        // ciphertext pesan ke-index sebagai String (alokasi baru)
+        public String getCiphertext(int index) {
+            return new String(arena, offsets[index], lengths[index]);
+        }
+    }
+
+    // enkripsi batch dengan matriks kunci mentah; hanya kunci yang dipakai yang dikompilasi, masing-masing sekali
+    public static BatchResult encrypt(List<? extends Message> messages, Map<String, int[][]> keyMatrices, HillAlphabet alphabet) {
+        Map<String, HillKey> compiled = new HashMap<>();
+        return encrypt(messages, id -> compiled.computeIfAbsent(id, k -> {
+            int[][] matrix = keyMatrices.get(k);
+            return matrix == null ? null : HillKey.compile(matrix, alphabet);
+        }));
+    }
+
+    // enkripsi batch dengan kunci terkompilasi, kunci dicari sekali per id
+    public static BatchResult encrypt(List<? extends Message> messages, Function<String, HillKey> keys) {
+        int count = messages.size();
+
+        // kelompokkan pesan per id kunci
+        Map<String, Integer> groupOf = new HashMap<>();
+        List<HillKey> groupKeys = new ArrayList<>();
+        int[] group = new int[count];
+        long capacity = 0;
+        for (int i = 0; i < count; i++) {
+            Message message = messages.get(i);
+            Integer g = groupOf.get(message.getKeyId());
+            if (g == null) {
+                HillKey key = keys.apply(message.getKeyId());
+                if (key == null) {
+                    throw new IllegalArgumentException("Kunci dengan id '" + message.getKeyId() + "' tidak ditemukan");
+                }
+                g = groupKeys.size();
+                groupOf.put(message.getKeyId(), g);
+                groupKeys.add(key);
+            }
+            group[i] = g;
+            capacity += message.getText().length() + groupKeys.get(g).getSize();
+        }
+        if (capacity > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Batch terlalu besar untuk satu arena, bagi menjadi beberapa batch");
+        }
+
+        // urutan pesan per kelompok (counting sort, urutan input dipertahankan di dalam kelompok)
+        int groups = groupKeys.size();
+        int[] groupFrom = new int[groups + 1];
+        for (int i = 0; i < count; i++) {
+            groupFrom[group[i] + 1]++;
+        }
+        for (int g = 0; g < groups; g++) {
+            groupFrom[g + 1] += groupFrom[g];
+        }
+        int[] order = new int[count];
+        int[] next = groupFrom.clone();
+        for (int i = 0; i < count; i++) {
+            order[next[group[i]]++] = i;
+        }
+
+        // normalisasi + padding ke arena simbol, kelompok demi kelompok tanpa celah
+        byte[] symbols = new byte[(int) capacity];
+        int[] offsets = new int[count];
+        int[] lengths = new int[count];
+        int[] paddingCounts = new int[count];
+        int[] regionFrom = new int[groups + 1];
+        int cursor = 0;
+        for (int g = 0; g < groups; g++) {
+            HillKey key = groupKeys.get(g);
+            HillAlphabet alphabet = key.getAlphabet();
+            regionFrom[g] = cursor;
+            for (int o = groupFrom[g]; o < groupFrom[g + 1]; o++) {
+                int i = order[o];
+                int normalized = alphabet.normalize(messages.get(i).getText(), symbols, cursor);
+                int padding = HillCipherEngine.paddingFor(normalized, key.getSize());
+                Arrays.fill(symbols, cursor + normalized, cursor + normalized + padding, alphabet.getPaddingSymbol());
+                offsets[i] = cursor;
+                lengths[i] = normalized + padding;
+                paddingCounts[i] = padding;
+                cursor += normalized + padding;
+            }
+        }
+        regionFrom[groups] = cursor;
+
+        // satu perkalian blok per kunci, lalu render ke arena char
+        char[] arena = new char[cursor];
+        for (int g = 0; g < groups; g++) {
+            HillKey key = groupKeys.get(g);
+            int from = regionFrom[g];
+            int to = regionFrom[g + 1];
+            if (to - from >= ParallelHillCipher.PARALLEL_THRESHOLD) {
+                ParallelHillCipher.transform(key, true, symbols, from, to, ForkJoinPool.commonPool());
+            } else {
+                key.encryptBlocks(symbols, symbols, from, to);
+            }
+            key.getAlphabet().render(symbols, from, to, arena, from);
+        }
+        return new BatchResult(arena, offsets, lengths, paddingCounts);
+    }
+}
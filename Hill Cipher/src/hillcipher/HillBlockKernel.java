@@ -0,0 +1,13 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+// kernel enkripsi/dekripsi blok untuk satu kunci tertentu
+// in dan out boleh array yang sama, [from, to) harus kelipatan ukuran blok
+public interface HillBlockKernel {
+
+    void apply(byte[] in, byte[] out, int from, int to);
+}
@@ -0,0 +1,363 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.function.Function;
+
+// container biner ciphertext yang mendeskripsikan dirinya sendiri (padding tidak perlu dibawa terpisah)
+//
+// format (big-endian):
+//   header : magic "HILC", versi (1 byte), modulus (2 byte), ignoreCase (1 byte), simbol alfabet (UTF),
+//            simbol padding (1 byte), ukuran blok n (1 byte), id kunci (UTF),
+//            jumlah padding (1 byte), jumlah simbol tanpa padding (8 byte)
+//   frame  : jumlah simbol (4 byte, paling banyak MAX_FRAME_SYMBOLS) lalu grup simbol terkemas;
+//            frame dengan jumlah 0 menutup data
+//   trailer: hanya kalau jumlah simbol di header -1 (ditulis streaming): jumlah simbol (8 byte), jumlah padding (1 byte)
+//
+// simbol dikemas dalam basis m: k simbol per grup b byte dengan m^k <= 256^b, rasio k/b dipilih paling besar
+// (26 -> 5 simbol per 3 byte = 4,8 bit per simbol, kira-kira 40% lebih kecil dari 1 byte per simbol);
+// grup terakhir frame diisi simbol 0 supaya ukuran grup tetap
+public final class HillCipherContainer {
+
+    public static final int MAGIC = 0x48494C43; // "HILC"
+    public static final int VERSION = 1;
+
+    // jumlah simbol maksimum satu frame: encoder menulis per potongan CHUNK_SIZE simbol (streaming ditambah sisa
+    // blok sebelumnya, kurang dari satu blok); decoder menolak frame yang lebih besar sebelum alokasi buffer
+    static final int MAX_FRAME_SYMBOLS = HillCipherStream.CHUNK_SIZE + HillCipherUtility.MAX_KEY_SIZE;
+
+    private static final long UNKNOWN = -1;
+
+    private HillCipherContainer() {
+    }
+
+    // header container
+    public static class Header {
+        private final int version;
+        private final int modulus;
+        private final boolean ignoreCase;
+        private final String symbols;
+        private final int paddingSymbol;
+        private final int blockSize;
+        private final String keyId;
+        private final int paddingCount;
+        private final long symbolCount;
+
+        public Header(int version, int modulus, boolean ignoreCase, String symbols, int paddingSymbol,
+                      int blockSize, String keyId, int paddingCount, long symbolCount) {
+            this.version = version;
+            this.modulus = modulus;
+            this.ignoreCase = ignoreCase;
+            this.symbols = symbols;
+            this.paddingSymbol = paddingSymbol;
+            this.blockSize = blockSize;
+            this.keyId = keyId;
+            this.paddingCount = paddingCount;
+            this.symbolCount = symbolCount;
+        }
+
+        public int getVersion() { return version; }
+        public int getModulus() { return modulus; }
+        public boolean isIgnoreCase() { return ignoreCase; }
+        public String getSymbols() { return symbols; }
+        public int getPaddingSymbol() { return paddingSymbol; }
+        public int getBlockSize() { return blockSize; }
+        public String getKeyId() { return keyId; }
+        // -1 kalau container ditulis streaming (nilai sebenarnya ada di trailer)
+        public int getPaddingCount() { return paddingCount; }
+        public long getSymbolCount() { return symbolCount; }
+
+        // alfabet yang dipakai saat enkripsi
+        public HillAlphabet getAlphabet() {
+            return HillAlphabet.of(symbols, ignoreCase, symbols.charAt(paddingSymbol));
+        }
+    }
+
+    // enkripsi teks langsung ke container (jumlah simbol dan padding ada di header)
+    public static byte[] encrypt(CharSequence plaintext, HillKey key, String keyId) {
+        HillAlphabet alphabet = key.getAlphabet();
+        int size = key.getSize();
+        byte[] symbols = new byte[plaintext.length() + size];
+        int count = alphabet.normalize(plaintext, symbols, 0);
+        int length = HillCipherEngine.pad(symbols, count, size, alphabet);
+        key.encryptBlocks(symbols, symbols, 0, length);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + length);
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeHeader(out, key, keyId, length - count, count);
+            for (int from = 0, step = HillCipherStream.CHUNK_SIZE / size * size; from < length; from += step) {
+                writeFrame(out, symbols, from, Math.min(length, from + step), alphabet.getModulus());
+            }
+            out.writeInt(0);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // ByteArrayOutputStream tidak melempar IOException
+        }
+        return bytes.toByteArray();
+    }
+
+    // enkripsi streaming dari Reader ke container; jumlah simbol dan padding ditulis di trailer
+    public static HillCipherStream.StreamResult encrypt(Reader in, OutputStream out, HillKey key, String keyId) throws IOException {
+        HillAlphabet alphabet = key.getAlphabet();
+        int size = key.getSize();
+        int mod = alphabet.getModulus();
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, HillCipherStream.CHUNK_SIZE));
+        writeHeader(data, key, keyId, -1, UNKNOWN);
+
+        char[] chars = new char[HillCipherStream.CHUNK_SIZE];
+        byte[] symbols = new byte[HillCipherStream.CHUNK_SIZE + 2 * size];
+        int pending = 0;
+        long symbolCount = 0;
+        int read;
+        while ((read = in.read(chars, 0, chars.length)) != -1) {
+            int count = pending + alphabet.normalize(chars, 0, read, symbols, pending);
+            symbolCount += count - pending;
+            int ready = count / size * size;
+            if (ready > 0) {
+                key.encryptBlocks(symbols, symbols, 0, ready);
+                writeFrame(data, symbols, 0, ready, mod);
+            }
+            pending = count - ready;
+            System.arraycopy(symbols, ready, symbols, 0, pending);
+        }
+
+        int length = HillCipherEngine.pad(symbols, pending, size, alphabet);
+        if (length > 0) {
+            key.encryptBlocks(symbols, symbols, 0, length);
+            writeFrame(data, symbols, 0, length, mod);
+        }
+        data.writeInt(0);
+        data.writeLong(symbolCount);
+        data.writeByte(length - pending);
+        data.flush();
+        return new HillCipherStream.StreamResult(symbolCount, length - pending);
+    }
+
+    // dekripsi container ke String, kunci dicari berdasarkan id di header
+    public static String decrypt(byte[] container, Function<String, HillKey> keys) {
+        StringWriter out = new StringWriter();
+        try {
+            decrypt(new ByteArrayInputStream(container), out, keys);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Container tidak valid: " + e.getMessage(), e);
+        }
+        return out.toString();
+    }
+
+    // dekripsi container dengan kunci tertentu
+    public static Header decrypt(InputStream in, Writer out, HillKey key) throws IOException {
+        return decrypt(in, out, id -> key);
+    }
+
+    // dekripsi streaming: padding dibuang sesuai header/trailer, kunci dicari berdasarkan id di header
+    // return header yang dibaca (dengan jumlah simbol dan padding sebenarnya)
+    public static Header decrypt(InputStream in, Writer out, Function<String, HillKey> keys) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, HillCipherStream.CHUNK_SIZE));
+        Header header = readHeader(data);
+        HillKey key = keys.apply(header.getKeyId());
+        if (key == null) {
+            throw new IllegalArgumentException("Kunci dengan id '" + header.getKeyId() + "' tidak ditemukan");
+        }
+        HillAlphabet alphabet = key.getAlphabet();
+        int size = key.getSize();
+        if (size != header.getBlockSize() || !alphabet.getSymbols().equals(header.getSymbols())) {
+            throw new IllegalArgumentException("Kunci '" + header.getKeyId() + "' tidak cocok dengan alfabet/ukuran blok container");
+        }
+
+        // satu blok terakhir ditahan karena bisa berisi padding yang jumlahnya baru diketahui di trailer
+        int mod = header.getModulus();
+        byte[] symbols = new byte[size];
+        char[] rendered = new char[HillCipherStream.CHUNK_SIZE + size];
+        int held = 0;
+        long total = 0;
+        int count;
+        while ((count = data.readInt()) != 0) {
+            checkFrame(count, size);
+            symbols = ensure(symbols, held + count);
+            readFrame(data, symbols, held, count, mod);
+            key.decryptBlocks(symbols, symbols, held, held + count);
+            total += count;
+
+            int ready = held + count - size;
+            writeRendered(out, alphabet, symbols, ready, rendered);
+            System.arraycopy(symbols, ready, symbols, 0, size);
+            held = size;
+        }
+
+        long symbolCount = header.getSymbolCount();
+        int paddingCount = header.getPaddingCount();
+        if (symbolCount == UNKNOWN) {
+            symbolCount = data.readLong();
+            paddingCount = data.readUnsignedByte();
+        }
+        if (symbolCount + paddingCount != total || paddingCount >= size || paddingCount > held) {
+            throw new IOException("Jumlah simbol/padding tidak sesuai dengan isi container");
+        }
+        writeRendered(out, alphabet, symbols, held - paddingCount, rendered);
+        out.flush();
+        return new Header(header.getVersion(), header.getModulus(), header.isIgnoreCase(), header.getSymbols(),
+                header.getPaddingSymbol(), size, header.getKeyId(), paddingCount, symbolCount);
+    }
+
+    // baca dan validasi header
+    public static Header readHeader(InputStream in) throws IOException {
+        DataInputStream data = in instanceof DataInputStream ? (DataInputStream) in : new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Bukan container Hill Cipher");
+        }
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Versi container " + version + " tidak didukung");
+        }
+        int modulus = data.readUnsignedShort();
+        boolean ignoreCase = data.readBoolean();
+        String symbols = data.readUTF();
+        int paddingSymbol = data.readUnsignedByte();
+        int blockSize = data.readUnsignedByte();
+        String keyId = data.readUTF();
+        int paddingCount = data.readByte();
+        long symbolCount = data.readLong();
+        if (symbols.length() != modulus || paddingSymbol >= modulus
+                || blockSize < HillCipherUtility.MIN_KEY_SIZE || blockSize > HillCipherUtility.MAX_KEY_SIZE) {
+            throw new IOException("Header container tidak valid");
+        }
+        return new Header(version, modulus, ignoreCase, symbols, paddingSymbol, blockSize, keyId, paddingCount, symbolCount);
+    }
+
+    // bentuk grup untuk modulus mod: {simbol per grup, byte per grup}
+    static int[] groupShape(int mod) {
+        int bestSymbols = 1;
+        int bestBytes = 1;
+        for (int bytes = 1; bytes <= Long.BYTES; bytes++) {
+            // k terbesar dengan mod^k <= 256^bytes (dihitung di long tanpa overflow, batas 2^64 lewat unsigned)
+            int symbols = 0;
+            long power = 1;
+            while (fits(power, mod, bytes)) {
+                power *= mod;
+                symbols++;
+            }
+            if ((long) symbols * bestBytes > (long) bestSymbols * bytes) {
+                bestSymbols = symbols;
+                bestBytes = bytes;
+            }
+        }
+        return new int[] {bestSymbols, bestBytes};
+    }
+
+    // apakah power * mod <= 256^bytes
+    private static boolean fits(long power, int mod, int bytes) {
+        if (bytes == Long.BYTES) {
+            return Long.compareUnsigned(power, Long.divideUnsigned(-1L, mod)) <= 0; // power * mod <= 2^64 - 1
+        }
+        return power <= (1L << (8 * bytes)) / mod;
+    }
+
+    private static void writeHeader(DataOutputStream out, HillKey key, String keyId, int paddingCount, long symbolCount) throws IOException {
+        HillAlphabet alphabet = key.getAlphabet();
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeShort(alphabet.getModulus());
+        out.writeBoolean(alphabet.isIgnoreCase());
+        out.writeUTF(alphabet.getSymbols());
+        out.writeByte(alphabet.getPaddingSymbol());
+        out.writeByte(key.getSize());
+        out.writeUTF(keyId == null ? "" : keyId);
+        out.writeByte(paddingCount);
+        out.writeLong(symbolCount);
+    }
+
+    // validasi jumlah simbol dari header frame (belum dipercaya) sebelum ada yang dialokasikan
+    static void checkFrame(int count, int size) throws IOException {
+        if (count < 0 || count > MAX_FRAME_SYMBOLS) {
+            throw new IOException("Frame berisi " + count + " simbol, maksimum " + MAX_FRAME_SYMBOLS);
+        }
+        if (count % size != 0) {
+            throw new IOException("Frame berisi " + count + " simbol, harus kelipatan " + size);
+        }
+    }
+
+    // tulis satu frame: jumlah simbol lalu grup basis mod (nilai grup big-endian)
+    private static void writeFrame(DataOutputStream out, byte[] symbols, int from, int to, int mod) throws IOException {
+        int[] shape = groupShape(mod);
+        int perGroup = shape[0];
+        int bytes = shape[1];
+        byte[] packed = new byte[(to - from + perGroup - 1) / perGroup * bytes];
+        int p = 0;
+        for (int g = from; g < to; g += perGroup) {
+            long value = 0;
+            for (int i = 0; i < perGroup; i++) {
+                int symbol = g + i < to ? symbols[g + i] & 0xFF : 0;
+                value = value * mod + symbol;
+            }
+            for (int shift = 8 * (bytes - 1); shift >= 0; shift -= 8) {
+                packed[p++] = (byte) (value >>> shift);
+            }
+        }
+        out.writeInt(to - from);
+        out.write(packed);
+    }
+
+    // baca frame berisi count simbol ke symbols[offset, offset + count)
+    private static void readFrame(DataInputStream in, byte[] symbols, int offset, int count, int mod) throws IOException {
+        int[] shape = groupShape(mod);
+        byte[] packed = new byte[(count + shape[0] - 1) / shape[0] * shape[1]];
+        in.readFully(packed);
+        unpack(packed, 0, symbols, offset, count, mod);
+    }
+
+    // buka grup berurutan dari packed mulai packedOffset menjadi count simbol di symbols[offset, offset + count)
+    // simbol isian di grup terakhir dibuang
+    static void unpack(byte[] packed, int packedOffset, byte[] symbols, int offset, int count, int mod) throws IOException {
+        int[] shape = groupShape(mod);
+        int perGroup = shape[0];
+        int bytes = shape[1];
+        int end = offset + count;
+        int p = packedOffset;
+        for (int g = offset; g < end; g += perGroup) {
+            long value = 0;
+            for (int i = 0; i < bytes; i++) {
+                value = (value << 8) | (packed[p++] & 0xFF);
+            }
+            for (int i = perGroup - 1; i >= 0; i--) {
+                int symbol = (int) Long.remainderUnsigned(value, mod);
+                value = Long.divideUnsigned(value, mod);
+                if (g + i < end) {
+                    symbols[g + i] = (byte) symbol;
+                }
+            }
+            if (value != 0) {
+                throw new IOException("Grup simbol di luar jangkauan modulus " + mod);
+            }
+        }
+    }
+
+    private static void writeRendered(Writer out, HillAlphabet alphabet, byte[] symbols, int length, char[] buffer) throws IOException {
+        for (int from = 0; from < length; from += buffer.length) {
+            int to = Math.min(length, from + buffer.length);
+            alphabet.render(symbols, from, to, buffer, 0);
+            out.write(buffer, 0, to - from);
+        }
+    }
+
+    private static byte[] ensure(byte[] buffer, int capacity) {
+        return capacity <= buffer.length ? buffer : Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+    }
+}
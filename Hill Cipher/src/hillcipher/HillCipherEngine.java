@@ -0,0 +1,221 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+// mesin enkripsi bulk Hill Cipher
+// semua tahap (normalisasi -> perkalian -> render) bekerja di buffer primitif,
+// tanpa alokasi per blok atau per simbol
+public final class HillCipherEngine {
+
+    // kernel SIMD (VectorHillKernel) dipakai kalau JVM dijalankan dengan --add-modules jdk.incubator.vector,
+    // bisa dimatikan dengan -Dhillcipher.vector=false; tanpa modul itu kernel skalar atau GEMM
+    static final boolean VECTOR_ENABLED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && !"false".equals(System.getProperty("hillcipher.vector"));
+
+    // jumlah simbol minimum supaya biaya transpose kernel SIMD sepadan
+    static final int VECTOR_MIN_SYMBOLS = 4096;
+
+    // tanpa kernel SIMD, kunci mulai ukuran ini (dan minimal satu strip L1) memakai kernel GEMM BlockedHillKernel
+    // (dengan SIMD aktif kernel SIMD tetap dipilih: di semua ukuran kunci 4..16 yang diukur hasilnya lebih cepat)
+    static final int BLOCKED_MIN_SIZE = 4;
+
+    private HillCipherEngine() {
+    }
+
+    // ratakan matriks kunci jadi array 1 dimensi (baris per baris), entri dinormalisasi ke [0, mod)
+    public static int[] flattenKey(int[][] keyMatrix, int mod) {
+        int size = keyMatrix.length;
+        int[] key = new int[size * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                key[i * size + j] = Math.floorMod(keyMatrix[i][j], mod);
+            }
+        }
+        return key;
+    }
+
+    // salinan matriks dengan entri dinormalisasi ke [0, mod), untuk listener yang menyimpan matriks
+    // (HillTrace merendernya belakangan, jadi matriks milik pemanggil tidak boleh dipakai langsung)
+    private static int[][] reducedCopy(int[][] matrix, int mod) {
+        int[][] copy = new int[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            copy[i] = new int[matrix[i].length];
+            for (int j = 0; j < copy[i].length; j++) {
+                copy[i][j] = Math.floorMod(matrix[i][j], mod);
+            }
+        }
+        return copy;
+    }
+
+    // tambah padding sampai panjang kelipatan size, return panjang setelah padding
+    public static int pad(byte[] symbols, int length, int size, HillAlphabet alphabet) {
+        int padded = length + paddingFor(length, size);
+        byte padding = alphabet.getPaddingSymbol();
+        for (int i = length; i < padded; i++) {
+            symbols[i] = padding;
+        }
+        return padded;
+    }
+
+    // jumlah padding yang dibutuhkan supaya length kelipatan size
+    public static int paddingFor(int length, int size) {
+        return (size - (length % size)) % size;
+    }
+
+    // kalikan setiap blok di [from, to) dengan kunci, hasil mod mod
+    // in dan out boleh array yang sama (proses in-place)
+    // kunci sudah di [0, mod), jadi jumlah per baris <= size * (mod - 1)^2 dan cukup direduksi sekali
+    public static void multiplyBlocks(int[] key, int size, int mod, byte[] in, byte[] out, int from, int to) {
+        ModularArithmetic.Reducer reducer = ModularArithmetic.reducer(mod);
+        int[] row = new int[size];
+        for (int b = from; b < to; b += size) {
+            for (int i = 0; i < size; i++) {
+                int sum = 0;
+                int k = i * size;
+                for (int j = 0; j < size; j++) {
+                    sum += key[k + j] * (in[b + j] & 0xFF);
+                }
+                row[i] = reducer.reduce(sum); // kunci dan simbol tidak negatif
+            }
+            for (int i = 0; i < size; i++) {
+                out[b + i] = (byte) row[i];
+            }
+        }
+    }
+
+    // kalikan blok [from, to) dengan kunci, pakai kernel SIMD kalau tersedia dan rentangnya cukup panjang,
+    // kalau tidak kernel GEMM berblok untuk kunci besar, sisanya perkalian per blok
+    public static void multiplyBulk(int[] key, int size, int mod, byte[] in, byte[] out, int from, int to) {
+        if (VECTOR_ENABLED && to - from >= VECTOR_MIN_SYMBOLS && VectorHillKernel.supports(size, mod)) {
+            VectorHillKernel.transform(key, size, mod, in, out, from, to);
+        } else if (size >= BLOCKED_MIN_SIZE && (to - from) / size >= BlockedHillKernel.stripBlocks(size)) {
+            BlockedHillKernel.transform(key, size, mod, in, out, from, to);
+        } else {
+            multiplyBlocks(key, size, mod, in, out, from, to);
+        }
+    }
+
+    // kalikan blok [from, to) dengan kunci, pilih tabel lookup otomatis untuk kunci kecil
+    // kalau jumlah blok cukup banyak untuk menutup biaya membangun tabel
+    public static void transform(int[] key, int size, int mod, byte[] in, byte[] out, int from, int to) {
+        int blockCount = (to - from) / size;
+        if (HillLookupTable.isSupported(size, mod) && blockCount >= HillLookupTable.entries(size, mod)) {
+            HillLookupTable.build(key, size, mod).apply(in, out, from, to);
+        } else {
+            multiplyBulk(key, size, mod, in, out, from, to);
+        }
+    }
+
+    // enkripsi teks dengan alfabet A-Z mod 26: normalisasi, padding, perkalian blok, render
+    // spasi dan tanda baca diabaikan, huruf/angka di luar A-Z (mis. '7', 'ß') ditolak dengan
+    // IllegalArgumentException; pakai HillKey dengan HillAlphabet.ALPHANUMERIC supaya angka ikut terenkripsi
+    public static String encrypt(CharSequence plaintext, int[][] keyMatrix) {
+        return encrypt(plaintext, keyMatrix, HillTraceListener.NONE);
+    }
+
+    // enkripsi A-Z mod 26 dengan listener jejak (mode detail), untuk ukuran kunci berapa pun
+    // kernel sama persis dengan encrypt biasa; dengan HillTraceListener.NONE semua cabang jejak mati
+    public static String encrypt(CharSequence plaintext, int[][] keyMatrix, HillTraceListener listener) {
+        HillAlphabet alphabet = HillAlphabet.LATIN;
+        int size = keyMatrix.length;
+        int mod = alphabet.getModulus();
+        byte[] symbols = new byte[plaintext.length() + size];
+        int count = alphabet.normalizeStrict(plaintext, symbols, 0);
+        int length = pad(symbols, count, size, alphabet);
+
+        // dengan listener hasil ditulis ke array lain supaya simbol input tetap bisa ditampilkan
+        byte[] out = symbols;
+        if (listener.isEnabled()) {
+            listener.start(false, plaintext, keyMatrix, mod, HillCipherUtility.determinant(keyMatrix), 0);
+            listener.symbols(symbols, count, length);
+            out = new byte[length];
+        }
+        transform(flattenKey(keyMatrix, mod), size, mod, symbols, out, 0, length);
+        String ciphertext = render(out, length, alphabet);
+        if (listener.isEnabled()) {
+            listener.blocks(reducedCopy(keyMatrix, mod), symbols, out, 0, length);
+            listener.finish(ciphertext, length - count, ciphertext);
+        }
+        return ciphertext;
+    }
+
+    // enkripsi dengan kunci terkompilasi (alfabet, tabel dan kunci rata sudah tersimpan di HillKey)
+    public static String encrypt(CharSequence plaintext, HillKey key) {
+        HillAlphabet alphabet = key.getAlphabet();
+        int size = key.getSize();
+        byte[] symbols = new byte[plaintext.length() + size];
+        int length = pad(symbols, alphabet.normalize(plaintext, symbols, 0), size, alphabet);
+
+        key.encryptBlocks(symbols, symbols, 0, length);
+        return render(symbols, length, alphabet);
+    }
+
+    // dekripsi teks A-Z dengan matriks invers (panjang ciphertext harus kelipatan ukuran blok)
+    // huruf/angka di luar A-Z ditolak seperti di encrypt
+    public static String decrypt(CharSequence ciphertext, int[][] inverseMatrix) {
+        HillAlphabet alphabet = HillAlphabet.LATIN;
+        int size = inverseMatrix.length;
+        int mod = alphabet.getModulus();
+        byte[] symbols = new byte[ciphertext.length()];
+        int length = requireWholeBlocks(alphabet.normalizeStrict(ciphertext, symbols, 0), size);
+
+        transform(flattenKey(inverseMatrix, mod), size, mod, symbols, symbols, 0, length);
+        return render(symbols, length, alphabet);
+    }
+
+    // dekripsi A-Z mod 26 dari matriks kunci (bukan invers) dengan listener jejak,
+    // paddingCount simbol terakhir dibuang dari hasil; huruf/angka di luar A-Z ditolak seperti di encrypt
+    public static String decrypt(CharSequence ciphertext, int[][] keyMatrix, int paddingCount, HillTraceListener listener) {
+        HillAlphabet alphabet = HillAlphabet.LATIN;
+        int size = keyMatrix.length;
+        int mod = alphabet.getModulus();
+        int[][] inverseMatrix = HillCipherUtility.findInverseMatrix(keyMatrix, mod);
+        byte[] symbols = new byte[ciphertext.length()];
+        int length = requireWholeBlocks(alphabet.normalizeStrict(ciphertext, symbols, 0), size);
+
+        byte[] out = symbols;
+        if (listener.isEnabled()) {
+            int det = HillCipherUtility.determinant(keyMatrix);
+            listener.start(true, ciphertext, keyMatrix, mod, det, paddingCount);
+            listener.inverse(det, ModularArithmetic.inverse(Math.floorMod(det, mod), mod), inverseMatrix);
+            listener.symbols(symbols, length, length);
+            out = new byte[length];
+        }
+        transform(flattenKey(inverseMatrix, mod), size, mod, symbols, out, 0, length);
+        String withPadding = render(out, length, alphabet);
+        String plaintext = paddingCount > 0 && length >= paddingCount ? withPadding.substring(0, length - paddingCount) : withPadding;
+        if (listener.isEnabled()) {
+            // inverseMatrix salinan baru dari InverseMatrixCache (sudah di [0, mod)), aman disimpan listener
+            listener.blocks(inverseMatrix, symbols, out, 0, length);
+            listener.finish(withPadding, paddingCount, plaintext);
+        }
+        return plaintext;
+    }
+
+    // dekripsi dengan kunci terkompilasi (invers tidak dihitung ulang)
+    public static String decrypt(CharSequence ciphertext, HillKey key) {
+        HillAlphabet alphabet = key.getAlphabet();
+        byte[] symbols = new byte[ciphertext.length()];
+        int length = requireWholeBlocks(alphabet.normalize(ciphertext, symbols, 0), key.getSize());
+
+        key.decryptBlocks(symbols, symbols, 0, length);
+        return render(symbols, length, alphabet);
+    }
+
+    // panjang ciphertext yang sudah dinormalisasi harus kelipatan ukuran blok
+    private static int requireWholeBlocks(int length, int size) {
+        if (length % size != 0) {
+            throw new IllegalArgumentException("Panjang ciphertext (" + length + ") harus kelipatan " + size);
+        }
+        return length;
+    }
+
+    private static String render(byte[] symbols, int length, HillAlphabet alphabet) {
+        char[] out = new char[length];
+        alphabet.render(symbols, 0, length, out, 0);
+        return new String(out);
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+// enkripsi/dekripsi streaming: input dibaca per chunk berukuran tetap, sisa blok yang belum
+// lengkap dibawa ke chunk berikutnya, padding hanya ditambahkan di akhir stream
+// pemakaian memori konstan berapa pun ukuran input
+// dengan HillTraceListener (mis. HillTraceExporter) jejak detail dikirim per chunk; buffer chunk dipakai ulang
+public final class HillCipherStream {
+
+    public static final int CHUNK_SIZE = 64 * 1024;
+
+    private HillCipherStream() {
+    }
+
+    // hasil streaming: jumlah simbol (plaintext asli / ciphertext) dan padding yang ditambahkan
+    public static class StreamResult {
+        private final long symbolCount;
+        private final int paddingCount;
+
+        public StreamResult(long symbolCount, int paddingCount) {
+            this.symbolCount = symbolCount;
+            this.paddingCount = paddingCount;
+        }
+
+        public long getSymbolCount() { return symbolCount; }
+        public int getPaddingCount() { return paddingCount; }
+    }
+
+    // enkripsi dari Reader ke Writer
+    public static StreamResult encrypt(Reader in, Writer out, HillKey key) throws IOException {
+        return encrypt(in, out, key, HillTraceListener.NONE);
+    }
+
+    // enkripsi dari Reader ke Writer dengan listener jejak (hanya alfabet A-Z mod 26)
+    public static StreamResult encrypt(Reader in, Writer out, HillKey key, HillTraceListener listener) throws IOException {
+        return new Pipeline(key, true, 0, listener).run(in, out);
+    }
+
+    // dekripsi dari Reader ke Writer, paddingCount karakter terakhir dibuang
+    public static StreamResult decrypt(Reader in, Writer out, HillKey key, int paddingCount) throws IOException {
+        return decrypt(in, out, key, paddingCount, HillTraceListener.NONE);
+    }
+
+    public static StreamResult decrypt(Reader in, Writer out, HillKey key, int paddingCount, HillTraceListener listener) throws IOException {
+        return new Pipeline(key, false, paddingCount, listener).run(in, out);
+    }
+
+    // enkripsi dari InputStream ke OutputStream (teks 1 byte per karakter, mis. ASCII/Latin-1)
+    public static StreamResult encrypt(InputStream in, OutputStream out, HillKey key) throws IOException {
+        return encrypt(in, out, key, HillTraceListener.NONE);
+    }
+
+    public static StreamResult encrypt(InputStream in, OutputStream out, HillKey key, HillTraceListener listener) throws IOException {
+        return new Pipeline(key, true, 0, listener).run(in, out);
+    }
+
+    // dekripsi dari InputStream ke OutputStream, paddingCount karakter terakhir dibuang
+    public static StreamResult decrypt(InputStream in, OutputStream out, HillKey key, int paddingCount) throws IOException {
+        return decrypt(in, out, key, paddingCount, HillTraceListener.NONE);
+    }
+
+    public static StreamResult decrypt(InputStream in, OutputStream out, HillKey key, int paddingCount, HillTraceListener listener) throws IOException {
+        return new Pipeline(key, false, paddingCount, listener).run(in, out);
+    }
+
+    // satu kali proses streaming, semua buffer dialokasikan sekali di sini
+    // isi buffer symbols: [0, held) hasil dekripsi yang ditahan (calon padding), [held, held + pending)
+    // sisa blok yang belum lengkap, lalu simbol baru dari chunk berikutnya
+    private static final class Pipeline {
+        private final HillKey key;
+        private final HillAlphabet alphabet;
+        private final boolean encrypt;
+        private final int size;
+        private final int paddingCount;
+        private final HillTraceListener listener;
+
+        private final char[] chars = new char[CHUNK_SIZE];
+        private final byte[] bytes = new byte[CHUNK_SIZE];
+        private final byte[] symbols;
+        private final char[] renderedChars;
+        private final byte[] renderedBytes;
+
+        // hanya dengan listener: salinan simbol input chunk dan matriks yang dikalikan
+        private final byte[] tracedInput;
+        private final int[][] tracedMatrix;
+
+        private int held;
+        private int pending;
+        private int paddingAdded;
+        private long symbolCount;
+
+        private Pipeline(HillKey key, boolean encrypt, int paddingCount, HillTraceListener listener) {
+            this.key = key;
+            this.alphabet = key.getAlphabet();
+            this.encrypt = encrypt;
+            this.size = key.getSize();
+            if (paddingCount < 0 || paddingCount >= size) {
+                throw new IllegalArgumentException("Jumlah padding harus antara 0 dan " + (size - 1));
+            }
+            this.paddingCount = paddingCount;
+            this.listener = listener;
+            this.symbols = new byte[CHUNK_SIZE + 2 * size];
+            this.renderedChars = new char[symbols.length];
+            this.renderedBytes = new byte[symbols.length];
+            if (listener.isEnabled()) {
+                if (alphabet.getModulus() != HillAlphabet.LATIN.getModulus()) {
+                    throw new IllegalArgumentException("Jejak detail hanya untuk alfabet A-Z (mod 26)");
+                }
+                this.tracedInput = new byte[symbols.length];
+                this.tracedMatrix = encrypt ? key.getMatrix() : key.getInverseMatrix();
+            } else {
+                this.tracedInput = null;
+                this.tracedMatrix = null;
+            }
+        }
+
+        private StreamResult run(Reader in, Writer out) throws IOException {
+            try {
+                begin();
+                int read;
+                while ((read = in.read(chars, 0, chars.length)) != -1) {
+                    int start = held + pending;
+                    int ready = process(start + alphabet.normalize(chars, 0, read, symbols, start));
+                    write(out, ready);
+                    shift(ready);
+                }
+                write(out, finish());
+                out.flush();
+                end();
+                return new StreamResult(symbolCount, paddingAdded);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        private StreamResult run(InputStream in, OutputStream out) throws IOException {
+            try {
+                begin();
+                int read;
+                while ((read = in.read(bytes, 0, bytes.length)) != -1) {
+                    int start = held + pending;
+                    int ready = process(start + alphabet.normalize(bytes, 0, read, symbols, start));
+                    write(out, ready);
+                    shift(ready);
+                }
+                write(out, finish());
+                out.flush();
+                end();
+                return new StreamResult(symbolCount, paddingAdded);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        // awal jejak: kunci (sudah modulo) dan untuk dekripsi matriks inversnya
+        private void begin() {
+            if (!listener.isEnabled()) {
+                return;
+            }
+            int mod = key.getModulus();
+            listener.start(!encrypt, null, key.getMatrix(), mod, key.getDeterminant(), encrypt ? 0 : paddingCount);
+            if (!encrypt) {
+                listener.inverse(key.getDeterminant(), ModularArithmetic.inverse(key.getDeterminant(), mod), tracedMatrix);
+            }
+        }
+
+        private void end() {
+            if (listener.isEnabled()) {
+                listener.finish(null, encrypt ? paddingAdded : paddingCount, null);
+            }
+        }
+
+        // proses semua blok lengkap, return jumlah simbol di awal buffer yang sudah pasti bukan padding
+        private int process(int count) {
+            int blocks = (count - held) / size * size;
+            transform(held, held + blocks);
+
+            int done = held + blocks;
+            pending = count - done;
+            held = encrypt ? 0 : Math.min(paddingCount, done);
+            symbolCount += encrypt ? blocks : done - held;
+            return done - held;
+        }
+
+        // geser simbol yang ditahan dan sisa blok ke awal buffer
+        private void shift(int ready) {
+            System.arraycopy(symbols, ready, symbols, 0, held + pending);
+        }
+
+        // akhir stream: tambah padding (enkripsi) atau buang simbol yang ditahan (dekripsi)
+        private int finish() {
+            if (!encrypt) {
+                if (pending != 0) {
+                    throw new IllegalArgumentException("Panjang ciphertext harus kelipatan " + size);
+                }
+                return 0;
+            }
+            int padded = HillCipherEngine.pad(symbols, pending, size, alphabet);
+            transform(0, padded);
+            symbolCount += pending;
+            paddingAdded = padded - pending;
+            pending = 0;
+            return padded;
+        }
+
+        private void transform(int from, int to) {
+            boolean traced = listener.isEnabled() && from < to;
+            if (traced) {
+                System.arraycopy(symbols, from, tracedInput, from, to - from);
+            }
+            if (encrypt) {
+                key.encryptBlocks(symbols, symbols, from, to);
+            } else {
+                key.decryptBlocks(symbols, symbols, from, to);
+            }
+            if (traced) {
+                listener.blocks(tracedMatrix, tracedInput, symbols, from, to);
+            }
+        }
+
+        private void write(Writer out, int count) throws IOException {
+            alphabet.render(symbols, 0, count, renderedChars, 0);
+            out.write(renderedChars, 0, count);
+        }
+
+        private void write(OutputStream out, int count) throws IOException {
+            alphabet.render(symbols, 0, count, renderedBytes, 0);
+            out.write(renderedBytes, 0, count);
+        }
+    }
+}
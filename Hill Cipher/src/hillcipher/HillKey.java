@@ -0,0 +1,140 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+// kunci Hill Cipher yang sudah "dikompilasi": divalidasi sekali untuk alfabetnya, entri dinormalisasi
+// mod m, determinan dan matriks invers disimpan
+// tabel lookup (3x3 mod 26 = 70 KB per arah) baru dibangun saat panggilan blok pertama yang cukup panjang,
+// hanya untuk arah yang dipakai, jadi memuat puluhan ribu kunci tidak mengalokasikan tabel sama sekali
+// immutable (array tidak pernah diubah, tabel dipublikasikan lewat field volatile; kalau dua thread membangun
+// bersamaan hasilnya sama), jadi aman dipakai bersama antar thread
+public final class HillKey {
+
+    private final HillAlphabet alphabet;
+    private final int mod;
+    private final int size;
+    private final int[][] matrix;
+    private final int[][] inverseMatrix;
+    private final int[] key;
+    private final int[] inverseKey;
+    private final int determinant;
+    private final boolean tablesSupported;
+    private volatile HillLookupTable encryptTable;
+    private volatile HillLookupTable decryptTable;
+
+    private HillKey(HillAlphabet alphabet, int[][] matrix, int[][] inverseMatrix, int determinant) {
+        this.alphabet = alphabet;
+        this.mod = alphabet.getModulus();
+        this.size = matrix.length;
+        this.matrix = matrix;
+        this.inverseMatrix = inverseMatrix;
+        this.key = HillCipherEngine.flattenKey(matrix, mod);
+        this.inverseKey = HillCipherEngine.flattenKey(inverseMatrix, mod);
+        this.determinant = determinant;
+        this.tablesSupported = HillLookupTable.isSupported(size, mod);
+    }
+
+    // kompilasi matriks kunci (mis. hasil parseKeyMatrix) untuk alfabet A-Z mod 26
+    public static HillKey compile(int[][] keyMatrix) {
+        return compile(keyMatrix, HillAlphabet.LATIN);
+    }
+
+    // kompilasi matriks kunci untuk alfabet tertentu, lempar IllegalArgumentException kalau tidak valid
+    // invers diambil dari InverseMatrixCache bersama
+    public static HillKey compile(int[][] keyMatrix, HillAlphabet alphabet) {
+        return compile(keyMatrix, alphabet, true);
+    }
+
+    // sama dengan compile, tapi invers dihitung langsung tanpa InverseMatrixCache bersama; untuk memuat banyak
+    // kunci sekaligus (HillKeyParser) supaya kunci yang sering dipakai tidak tergusur dari cache
+    static HillKey compileUncached(int[][] keyMatrix, HillAlphabet alphabet) {
+        return compile(keyMatrix, alphabet, false);
+    }
+
+    private static HillKey compile(int[][] keyMatrix, HillAlphabet alphabet, boolean cached) {
+        int mod = alphabet.getModulus();
+        int size = keyMatrix.length;
+        if (size < HillCipherUtility.MIN_KEY_SIZE || size > HillCipherUtility.MAX_KEY_SIZE) {
+            throw new IllegalArgumentException("Ukuran matriks harus antara " + HillCipherUtility.MIN_KEY_SIZE
+                    + " dan " + HillCipherUtility.MAX_KEY_SIZE);
+        }
+
+        // salin dan normalisasi entri ke [0, mod)
+        int[][] matrix = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            if (keyMatrix[i].length != size) {
+                throw new IllegalArgumentException("Matriks kunci harus persegi " + size + "x" + size);
+            }
+            for (int j = 0; j < size; j++) {
+                matrix[i][j] = Math.floorMod(keyMatrix[i][j], mod);
+            }
+        }
+
+        int determinant = HillCipherUtility.determinant(matrix, mod);
+        int detInverse = cached ? 0 : ModularArithmetic.inverse(determinant, mod);
+        if (cached ? !HillCipherUtility.isValidKey(matrix, mod) : detInverse == -1) {
+            throw new IllegalArgumentException("Matriks tidak memiliki invers modulo " + mod
+                    + " (determinan " + determinant + ")");
+        }
+        int[][] inverseMatrix = cached
+                ? HillCipherUtility.findInverseMatrix(matrix, mod)
+                : HillCipherUtility.computeInverseMatrix(matrix, detInverse, mod);
+        return new HillKey(alphabet, matrix, inverseMatrix, determinant);
+    }
+
+    public HillAlphabet getAlphabet() { return alphabet; }
+    public int getModulus() { return mod; }
+    public int getSize() { return size; }
+    public int getDeterminant() { return determinant; } // modulo getModulus()
+    public boolean hasLookupTables() { return tablesSupported; } // tabel dibangun saat dibutuhkan
+    public int[][] getMatrix() { return copy(matrix); }
+    public int[][] getInverseMatrix() { return copy(inverseMatrix); }
+
+    // enkripsi blok simbol [from, to) (in dan out boleh sama)
+    public void encryptBlocks(byte[] in, byte[] out, int from, int to) {
+        HillLookupTable table = lookupTable(true, to - from);
+        if (table != null) {
+            table.apply(in, out, from, to);
+        } else {
+            HillCipherEngine.multiplyBulk(key, size, mod, in, out, from, to);
+        }
+    }
+
+    // dekripsi blok simbol [from, to) (in dan out boleh sama)
+    public void decryptBlocks(byte[] in, byte[] out, int from, int to) {
+        HillLookupTable table = lookupTable(false, to - from);
+        if (table != null) {
+            table.apply(in, out, from, to);
+        } else {
+            HillCipherEngine.multiplyBulk(inverseKey, size, mod, in, out, from, to);
+        }
+    }
+
+    // tabel arah ini, dibangun sekali kalau panggilan sepanjang symbols sudah sepadan; null = pakai perkalian biasa
+    private HillLookupTable lookupTable(boolean encrypt, int symbols) {
+        if (!tablesSupported) {
+            return null;
+        }
+        HillLookupTable table = encrypt ? encryptTable : decryptTable;
+        if (table == null && symbols >= HillLookupTable.minSymbols(size, mod)) {
+            table = HillLookupTable.build(encrypt ? key : inverseKey, size, mod);
+            if (encrypt) {
+                encryptTable = table;
+            } else {
+                decryptTable = table;
+            }
+        }
+        return table;
+    }
+
+    private static int[][] copy(int[][] source) {
+        int[][] result = new int[source.length][];
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i].clone();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+// parser kunci tanpa regex dan tanpa NumberFormatException di jalur normal,
+// plus loader file kunci (satu kunci per baris) yang mem-parse dan memvalidasi kunci secara paralel
+//
+// format file kunci:
+//   # komentar
+//   <id> <entri 1> <entri 2> ... <entri n*n>
+// entri ditulis baris per baris, n diambil dari jumlah entri (4 = 2x2, 9 = 3x3, ..., 256 = 16x16),
+// setiap entri berupa angka atau satu huruf (a = 0, ..., z = 25) seperti di parseKeyMatrix
+public final class HillKeyParser {
+
+    private HillKeyParser() {
+    }
+
+    // parse teks kunci (satu baris matriks per baris teks), aturan dan pesan error sama dengan parseKeyMatrix lama:
+    // baris/kolom berlebih diabaikan, kurang baris atau kolom menghasilkan IllegalArgumentException
+    public static int[][] parse(CharSequence keyText, int size) {
+        if (size < HillCipherUtility.MIN_KEY_SIZE || size > HillCipherUtility.MAX_KEY_SIZE) {
+            throw new IllegalArgumentException("Ukuran matriks harus antara " + HillCipherUtility.MIN_KEY_SIZE + " dan " + HillCipherUtility.MAX_KEY_SIZE);
+        }
+
+        if (countRows(keyText) < size) {
+            throw new IllegalArgumentException("Kunci matriks " + size + "x" + size + " membutuhkan " + size + " baris");
+        }
+
+        int[][] matrix = new int[size][size];
+        int[] tokens = new int[2 * size];
+        int rowStart = 0;
+        for (int i = 0; i < size; i++) {
+            int rowEnd = indexOf(keyText, '\n', rowStart);
+
+            // baris di-trim, lalu dipecah di whitespace
+            int from = rowStart;
+            int to = rowEnd;
+            while (from < to && keyText.charAt(from) <= ' ') from++;
+            while (to > from && keyText.charAt(to - 1) <= ' ') to--;
+
+            int count = tokenize(keyText, from, to, tokens, size);
+            if (count < size) {
+                throw new IllegalArgumentException("Baris " + (i+1) + " hanya memiliki " + Math.max(count, 1) + " elemen, butuh " + size + " elemen");
+            }
+            for (int j = 0; j < size; j++) {
+                matrix[i][j] = parseEntry(keyText, tokens[2 * j], tokens[2 * j + 1]);
+            }
+            rowStart = rowEnd + 1;
+        }
+        return matrix;
+    }
+
+    // muat file kunci UTF-8
+    public static KeyFile load(Path file, HillAlphabet alphabet) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return load(reader, alphabet);
+        }
+    }
+
+    // muat file kunci: baris dibaca sekuensial, parse + kompilasi (cek invers) dijalankan paralel tanpa
+    // InverseMatrixCache bersama (HillKey.compileUncached), jadi cache jalur interaktif tidak tergusur,
+    // kesalahan dicatat per record dan tidak menghentikan record lain
+    public static KeyFile load(BufferedReader reader, HillAlphabet alphabet) throws IOException {
+        List<String> lines = new ArrayList<>();
+        List<Integer> lineNumbers = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String record = line.trim();
+            if (!record.isEmpty() && record.charAt(0) != '#') {
+                lines.add(record);
+                lineNumbers.add(lineNumber);
+            }
+        }
+
+        int count = lines.size();
+        String[] ids = new String[count];
+        HillKey[] keys = new HillKey[count];
+        String[] messages = new String[count];
+        IntStream.range(0, count).parallel().forEach(r -> {
+            String record = lines.get(r);
+            int idEnd = 0;
+            while (idEnd < record.length() && !isSeparator(record.charAt(idEnd))) idEnd++;
+            ids[r] = record.substring(0, idEnd);
+            try {
+                keys[r] = HillKey.compileUncached(parseRecord(record, idEnd), alphabet);
+            } catch (IllegalArgumentException e) {
+                messages[r] = e.getMessage();
+            }
+        });
+
+        // gabungkan sesuai urutan file supaya hasil dan duplikat deterministik
+        Map<String, HillKey> loaded = new LinkedHashMap<>();
+        Map<String, Integer> firstLine = new LinkedHashMap<>();
+        List<RecordError> errors = new ArrayList<>();
+        for (int r = 0; r < count; r++) {
+            Integer previous = firstLine.putIfAbsent(ids[r], lineNumbers.get(r));
+            if (previous != null) {
+                errors.add(new RecordError(lineNumbers.get(r), ids[r], "Id kunci duplikat, sudah dipakai di baris " + previous));
+            } else if (messages[r] != null) {
+                errors.add(new RecordError(lineNumbers.get(r), ids[r], messages[r]));
+            } else {
+                loaded.put(ids[r], keys[r]);
+            }
+        }
+        return new KeyFile(loaded, errors);
+    }
+
+    // entri record setelah id, jumlahnya harus n*n dengan n di 2..16
+    private static int[][] parseRecord(String record, int from) {
+        int max = HillCipherUtility.MAX_KEY_SIZE * HillCipherUtility.MAX_KEY_SIZE;
+        int[] tokens = new int[2 * (max + 1)];
+        int count = tokenize(record, from, record.length(), tokens, max + 1);
+
+        int size = (int) Math.round(Math.sqrt(count));
+        if (size * size != count || size < HillCipherUtility.MIN_KEY_SIZE || size > HillCipherUtility.MAX_KEY_SIZE) {
+            throw new IllegalArgumentException("Jumlah elemen kunci (" + (count > max ? "> " + max : count) + ") harus n x n dengan n antara "
+                    + HillCipherUtility.MIN_KEY_SIZE + " dan " + HillCipherUtility.MAX_KEY_SIZE);
+        }
+
+        int[][] matrix = new int[size][size];
+        for (int i = 0; i < count; i++) {
+            matrix[i / size][i % size] = parseEntry(record, tokens[2 * i], tokens[2 * i + 1]);
+        }
+        return matrix;
+    }
+
+    // jumlah baris seperti String.split("\n"): baris kosong di akhir tidak dihitung, teks kosong = 1 baris
+    private static int countRows(CharSequence text) {
+        int end = text.length();
+        if (end == 0) {
+            return 1;
+        }
+        while (end > 0 && text.charAt(end - 1) == '\n') end--;
+        if (end == 0) {
+            return 0;
+        }
+        int rows = 1;
+        for (int i = 0; i < end; i++) {
+            if (text.charAt(i) == '\n') rows++;
+        }
+        return rows;
+    }
+
+    // pecah text[from, to) di whitespace, posisi token ke-k disimpan di bounds[2k], bounds[2k + 1]
+    // berhenti setelah limit token, return jumlah token yang ditemukan (paling banyak limit)
+    private static int tokenize(CharSequence text, int from, int to, int[] bounds, int limit) {
+        int count = 0;
+        int i = from;
+        while (i < to && count < limit) {
+            while (i < to && isSeparator(text.charAt(i))) i++;
+            if (i == to) {
+                break;
+            }
+            int start = i;
+            while (i < to && !isSeparator(text.charAt(i))) i++;
+            bounds[2 * count] = start;
+            bounds[2 * count + 1] = i;
+            count++;
+        }
+        return count;
+    }
+
+    // entri kunci: angka bertanda (ASCII, tanpa exception), satu huruf, atau angka lain yang diterima Integer.parseInt
+    private static int parseEntry(CharSequence text, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (text.charAt(i) == '-' || text.charAt(i) == '+') {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        if (i < to && to - i <= 9) {
+            int value = 0;
+            while (i < to && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+                value = value * 10 + (text.charAt(i++) - '0');
+            }
+            if (i == to) {
+                return negative ? -value : value;
+            }
+        }
+
+        if (to - from == 1) {
+            char ch = text.charAt(from);
+            if (Character.digit(ch, 10) >= 0) {
+                return Character.digit(ch, 10);
+            }
+            if (Character.isLetter(ch)) {
+                return HillCipherUtility.letterToNumber(ch);
+            }
+            throw new IllegalArgumentException("Karakter '" + ch + "' tidak valid. Harus angka atau huruf");
+        }
+
+        // jalur jarang: angka 10 digit atau digit non-ASCII
+        String token = text.subSequence(from, to).toString();
+        try {
+            return Integer.parseInt(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nilai '" + token + "' tidak valid");
+        }
+    }
+
+    // whitespace yang sama dengan \s di regex
+    private static boolean isSeparator(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+    }
+
+    private static int indexOf(CharSequence text, char ch, int from) {
+        for (int i = from, n = text.length(); i < n; i++) {
+            if (text.charAt(i) == ch) {
+                return i;
+            }
+        }
+        return text.length();
+    }
+
+    // hasil memuat file kunci: kunci valid (urutan file) dan kesalahan per record
+    public static class KeyFile {
+        private final Map<String, HillKey> keys;
+        private final List<RecordError> errors;
+
+        public KeyFile(Map<String, HillKey> keys, List<RecordError> errors) {
+            this.keys = Collections.unmodifiableMap(keys);
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        public Map<String, HillKey> getKeys() { return keys; }
+        public List<RecordError> getErrors() { return errors; }
+        public boolean hasErrors() { return !errors.isEmpty(); }
+    }
+
+    // kesalahan di satu record file kunci
+    public static class RecordError {
+        private final int line;
+        private final String id;
+        private final String message;
+
+        public RecordError(int line, String id, String message) {
+            this.line = line;
+            this.id = id;
+            this.message = message;
+        }
+
+        public int getLine() { return line; }
+        public String getId() { return id; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "Baris " + line + " (" + id + "): " + message;
+        }
+    }
+}
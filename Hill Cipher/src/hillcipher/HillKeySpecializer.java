@@ -0,0 +1,144 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.Label;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.ConstantDescs;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.invoke.MethodHandles;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// spesialisasi kernel per kunci: bytecode dibangkitkan dengan ClassFile API (java.lang.classfile)
+// lalu didefinisikan sebagai hidden class, dengan entri kunci sebagai konstanta dan loop baris/kolom
+// di-unroll penuh, jadi JIT bisa constant-fold perkalian dan mengganti irem dengan perkalian
+// cocok untuk kunci yang dipakai lama; kalau gagal, kembali ke kernel generik HillKey
+// butuh JDK 24 (ClassFile API final di java.lang.classfile), sesuai javac.source proyek
+public final class HillKeySpecializer {
+
+    private static final Logger LOG = Logger.getLogger(HillKeySpecializer.class.getName());
+
+    private static final ClassDesc CD_KERNEL = ClassDesc.of(HillBlockKernel.class.getName());
+    private static final ClassDesc CD_SPECIALIZED = ClassDesc.of("hillcipher.SpecializedHillKernel");
+    private static final MethodTypeDesc MTD_APPLY = MethodTypeDesc.of(ConstantDescs.CD_void,
+            ConstantDescs.CD_byte.arrayType(), ConstantDescs.CD_byte.arrayType(), ConstantDescs.CD_int, ConstantDescs.CD_int);
+
+    // slot variabel lokal di method apply
+    private static final int SLOT_IN = 1;
+    private static final int SLOT_OUT = 2;
+    private static final int SLOT_FROM = 3;
+    private static final int SLOT_TO = 4;
+    private static final int SLOT_SYMBOLS = 5; // simbol blok ke-j di slot SLOT_SYMBOLS + j
+
+    private HillKeySpecializer() {
+    }
+
+    // kernel enkripsi khusus untuk kunci ini
+    public static HillBlockKernel encryptKernel(HillKey key) {
+        return specialize(key, true);
+    }
+
+    // kernel dekripsi khusus untuk kunci ini (entri matriks invers sebagai konstanta)
+    public static HillBlockKernel decryptKernel(HillKey key) {
+        return specialize(key, false);
+    }
+
+    private static HillBlockKernel specialize(HillKey key, boolean encrypt) {
+        int[][] matrix = encrypt ? key.getMatrix() : key.getInverseMatrix();
+        byte[] bytes = generate(HillCipherEngine.flattenKey(matrix, key.getModulus()), key.getSize(), key.getModulus());
+        try {
+            Class<?> kernel = MethodHandles.lookup().defineHiddenClass(bytes, true).lookupClass();
+            return (HillBlockKernel) kernel.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | IllegalArgumentException | LinkageError e) {
+            // JVM menolak class yang dibangkitkan, pakai kernel generik; Error lain (mis. OutOfMemoryError) diteruskan
+            LOG.log(Level.WARNING, "Spesialisasi kernel gagal, memakai kernel generik", e);
+            return encrypt ? key::encryptBlocks : key::decryptBlocks;
+        }
+    }
+
+    // class final yang mengimplementasikan HillBlockKernel dengan satu method apply ter-unroll
+    private static byte[] generate(int[] key, int size, int mod) {
+        return ClassFile.of().build(CD_SPECIALIZED, clb -> clb
+                .withFlags(ClassFile.ACC_FINAL | ClassFile.ACC_SYNTHETIC)
+                .withSuperclass(ConstantDescs.CD_Object)
+                .withInterfaceSymbols(CD_KERNEL)
+                .withMethodBody(ConstantDescs.INIT_NAME, ConstantDescs.MTD_void, ClassFile.ACC_PUBLIC, cob -> cob
+                        .aload(0)
+                        .invokespecial(ConstantDescs.CD_Object, ConstantDescs.INIT_NAME, ConstantDescs.MTD_void)
+                        .return_())
+                .withMethodBody("apply", MTD_APPLY, ClassFile.ACC_PUBLIC, cob -> applyBody(cob, key, size, mod)));
+    }
+
+    // for (b = from; b < to; b += size) {
+    //     x0 = in[b] & 0xFF; ...; x(n-1) = in[b + n - 1] & 0xFF;
+    //     out[b + i] = (byte) ((k(i,0) * x0 + ... + k(i,n-1) * x(n-1)) % mod);   untuk setiap baris i
+    // }
+    // semua simbol blok dibaca dulu ke variabel lokal, jadi in dan out boleh sama
+    private static void applyBody(CodeBuilder cob, int[] key, int size, int mod) {
+        Label loop = cob.newLabel();
+        Label end = cob.newLabel();
+
+        cob.labelBinding(loop)
+           .iload(SLOT_FROM)
+           .iload(SLOT_TO)
+           .if_icmpge(end);
+
+        for (int j = 0; j < size; j++) {
+            cob.aload(SLOT_IN);
+            loadIndex(cob, j);
+            cob.baload()
+               .sipush(0xFF)
+               .iand()
+               .istore(SLOT_SYMBOLS + j);
+        }
+
+        for (int i = 0; i < size; i++) {
+            cob.aload(SLOT_OUT);
+            loadIndex(cob, i);
+
+            boolean first = true;
+            for (int j = 0; j < size; j++) {
+                int k = key[i * size + j];
+                if (k == 0) {
+                    continue; // suku nol tidak perlu dibangkitkan
+                }
+                cob.iload(SLOT_SYMBOLS + j);
+                if (k != 1) {
+                    cob.sipush(k).imul();
+                }
+                if (!first) {
+                    cob.iadd();
+                }
+                first = false;
+            }
+            if (first) {
+                cob.iconst_0();
+            }
+
+            cob.sipush(mod)
+               .irem()
+               .i2b()
+               .bastore();
+        }
+
+        // parameter from dipakai langsung sebagai penunjuk blok
+        cob.iinc(SLOT_FROM, size)
+           .goto_(loop)
+           .labelBinding(end)
+           .return_();
+    }
+
+    // dorong b + offset ke stack
+    private static void loadIndex(CodeBuilder cob, int offset) {
+        cob.iload(SLOT_FROM);
+        if (offset != 0) {
+            cob.sipush(offset).iadd();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+// tabel hasil enkripsi per blok untuk kunci kecil (2x2 dan 3x3)
+// mod 26 cuma ada 676 digraf / 17.576 trigraf, jadi perkalian matriks per blok
+// bisa diganti satu kali baca array
+public final class HillLookupTable {
+
+    public static final int MAX_SIZE = 3;
+    public static final int MAX_ENTRIES = 1 << 16; // mis. 3x3 mod 95 (857.375 entri) tidak pakai tabel
+
+    private final int size;
+    private final int mod;
+    // hasil blok dikemas per entri: simbol ke-i di bit 8*i
+    private final int[] table;
+
+    private HillLookupTable(int size, int mod, int[] table) {
+        this.size = size;
+        this.mod = mod;
+        this.table = table;
+    }
+
+    // jumlah entri tabel untuk ukuran blok size (mod^size)
+    public static int entries(int size, int mod) {
+        long n = 1;
+        for (int i = 0; i < size; i++) {
+            n *= mod;
+        }
+        return (int) Math.min(n, Integer.MAX_VALUE);
+    }
+
+    // apakah tabel untuk ukuran blok dan modulus ini masih masuk batas
+    public static boolean isSupported(int size, int mod) {
+        return size <= MAX_SIZE && entries(size, mod) <= MAX_ENTRIES;
+    }
+
+    // panjang minimal satu panggilan (simbol) supaya membangun tabel sepadan: setiap entri tabel
+    // butuh satu perkalian blok, jadi tabel baru dibangun kalau panggilan memuat minimal 1/16 jumlah entri dalam blok
+    public static int minSymbols(int size, int mod) {
+        return entries(size, mod) / 16 * size;
+    }
+
+    // bangun tabel dari kunci rata (lihat HillCipherEngine.flattenKey)
+    public static HillLookupTable build(int[] key, int size, int mod) {
+        if (size < 1 || !isSupported(size, mod)) {
+            throw new IllegalArgumentException("Tabel lookup tidak tersedia untuk matriks " + size + "x" + size + " modulo " + mod);
+        }
+        int[] table = new int[entries(size, mod)];
+        byte[] block = new byte[size];
+
+        for (int index = 0; index < table.length; index++) {
+            // uraikan index jadi simbol blok (digit basis mod, simbol pertama paling signifikan)
+            int rest = index;
+            for (int j = size - 1; j >= 0; j--) {
+                block[j] = (byte) (rest % mod);
+                rest /= mod;
+            }
+            HillCipherEngine.multiplyBlocks(key, size, mod, block, block, 0, size);
+
+            int packed = 0;
+            for (int i = 0; i < size; i++) {
+                packed |= (block[i] & 0xFF) << (8 * i);
+            }
+            table[index] = packed;
+        }
+        return new HillLookupTable(size, mod, table);
+    }
+
+    public int getSize() { return size; }
+
+    // enkripsi/dekripsi blok [from, to) dengan satu lookup per blok, in dan out boleh sama
+    public void apply(byte[] in, byte[] out, int from, int to) {
+        if (size == 2) {
+            for (int b = from; b < to; b += 2) {
+                int packed = table[(in[b] & 0xFF) * mod + (in[b + 1] & 0xFF)];
+                out[b] = (byte) packed;
+                out[b + 1] = (byte) (packed >>> 8);
+            }
+        } else if (size == 3) {
+            for (int b = from; b < to; b += 3) {
+                int packed = table[((in[b] & 0xFF) * mod + (in[b + 1] & 0xFF)) * mod + (in[b + 2] & 0xFF)];
+                out[b] = (byte) packed;
+                out[b + 1] = (byte) (packed >>> 8);
+                out[b + 2] = (byte) (packed >>> 16);
+            }
+        } else {
+            for (int b = from; b < to; b++) {
+                out[b] = (byte) table[in[b] & 0xFF];
+            }
+        }
+    }
+}
@@ -0,0 +1,774 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+// jejak langkah enkripsi/dekripsi detail (hasil getSteps() di EncryptionResultWithPadding/DecryptionResult)
+// dipasang sebagai HillTraceListener di mesin yang sama dengan enkripsi biasa; langkah dicatat sebagai event
+// bertipe (opcode + argumen int) di satu array int, array simbol dan matriks dari mesin disimpan sebagai
+// referensi tanpa disalin, dan nilai turunan (jumlah per baris, kofaktor) baru dihitung saat dirender
+// teks baris baru dibuat saat get(i) dipanggil (mis. oleh viewer), baris yang tidak dibaca tidak pernah dibuat
+// untuk input besar HillTracePolicy memilih blok yang dicatat; blok lain tetap dihitung tapi hanya dihitung jumlahnya
+// blocks() boleh dipanggil berkali-kali (streaming per chunk): judul bagian hanya sekali dan nomor blok berlanjut
+public final class HillTrace extends AbstractList<String> implements RandomAccess, HillTraceListener {
+
+    // jenis event
+    private static final int TITLE = 0;
+    private static final int KEY = 1;
+    private static final int DETERMINANT = 2;
+    private static final int INVERSE = 3;
+    private static final int NUMBERS = 4;
+    private static final int PADDING = 5;
+    private static final int MATRIX = 6;
+    private static final int BLOCK_LIST = 7;
+    private static final int BLOCKS = 8;
+    private static final int CIPHERTEXT = 9;
+    private static final int PLAINTEXT = 10;
+
+    private final HillTracePolicy policy;
+    private final boolean classic3x3;
+
+    // diisi di start()
+    private boolean decrypt;
+    private int size;
+    private int mod;
+    private int textLength;
+    private int paddingCount;
+    private int keyRef;
+
+    // pilihan blok (di symbols()): blok tercatat ke-k = policy.block(k, ...), ringkasan blok yang dilewati
+    // ditampilkan sebagai satu baris di posisi gap
+    private int blockCount;
+    private int traced;
+    private int gap;
+    private boolean selected;
+
+    // bagian per blok: judul sudah ditulis, jumlah blok dari panggilan blocks() sebelumnya
+    private boolean blocksStarted;
+    private long blockBase;
+
+    // event ke-e: opcode di data[eventAt[e]] diikuti argumennya, baris pertamanya di eventLine[e]
+    private int[] data = new int[64];
+    private int dataLength;
+    private int[] eventAt = new int[16];
+    private int[] eventLine = new int[16];
+    private int events;
+    private int lineCount;
+
+    // referensi objek (teks, byte[], int[][]) yang dipakai argumen event
+    private Object[] refs = new Object[16];
+    private int refCount;
+
+    // jejak lengkap
+    public HillTrace() {
+        this(HillTracePolicy.FULL);
+    }
+
+    public HillTrace(HillTracePolicy policy) {
+        this(policy, false);
+    }
+
+    // classic3x3 = format lama encryptWithDetails3x3/decryptWithDetails3x3 (judul "3x3", matriks 3 kolom,
+    // tiga baris per perkalian baris matriks)
+    HillTrace(HillTracePolicy policy, boolean classic3x3) {
+        this.policy = policy;
+        this.classic3x3 = classic3x3;
+    }
+
+    public boolean isDecrypt() { return decrypt; }
+    public int getBlockSize() { return size; }
+    public int getModulus() { return mod; }
+    public int getPaddingCount() { return paddingCount; }
+    public HillTracePolicy getPolicy() { return policy; }
+    public int getBlockCount() { return blockCount; }
+    public int getTracedBlockCount() { return traced; }
+    public int getSkippedBlockCount() { return blockCount - traced; }
+
+    @Override
+    public int size() {
+        return lineCount;
+    }
+
+    // render satu baris
+    @Override
+    public String get(int index) {
+        StringBuilder line = new StringBuilder();
+        appendLine(index, line);
+        return line.toString();
+    }
+
+    // render baris ke-index ke out (dipakai HillTraceExporter dengan satu StringBuilder)
+    void appendLine(int index, StringBuilder out) {
+        render(index, out, Integer.MAX_VALUE);
+    }
+
+    // render paling banyak maxChars karakter baris ke-index ke out, return true kalau baris dipotong
+    // baris yang memuat seluruh input (teks, angka, hasil akhir) berhenti dirender di batas, jadi biayanya
+    // tidak bergantung panjang input (dipakai HillTraceViewer untuk baris yang terlihat dan pencarian)
+    boolean appendLine(int index, StringBuilder out, int maxChars) {
+        int start = out.length();
+        int limit = (int) Math.min(Integer.MAX_VALUE, (long) start + maxChars + 1);
+        render(index, out, limit);
+        if (out.length() - start <= maxChars) {
+            return false;
+        }
+        out.setLength(start + maxChars);
+        return true;
+    }
+
+    // limit = panjang out maksimum untuk bagian yang sepanjang input
+    private void render(int index, StringBuilder out, int limit) {
+        Objects.checkIndex(index, lineCount);
+        int e = Arrays.binarySearch(eventLine, 0, events, index);
+        if (e < 0) {
+            e = -e - 2;
+        }
+        render(eventAt[e], index - eventLine[e], out, limit);
+    }
+
+    // buang semua baris yang sudah dicatat (sudah ditulis HillTraceExporter), data dari start() dan
+    // nomor blok tetap dipakai event berikutnya
+    void discard() {
+        int[][] key = keyRef < refCount ? (int[][]) refs[keyRef] : null;
+        Arrays.fill(refs, 0, refCount, null);
+        refCount = 0;
+        dataLength = 0;
+        events = 0;
+        lineCount = 0;
+        selected = false;
+        keyRef = ref(key);
+    }
+
+    // baris pertama proses blok ke-number (mulai 1) di bagian per blok, -1 kalau blok tidak dicatat
+    // (untuk lompat ke blok di viewer tanpa mencari baris satu per satu)
+    public int findBlockLine(long number) {
+        for (int e = events - 1; e >= 0; e--) {
+            int at = eventAt[e];
+            if (data[at] != BLOCKS) {
+                continue;
+            }
+            long previous = ((long) data[at + 6] << 32) | (data[at + 7] & 0xFFFFFFFFL);
+            long b = number - 1 - previous;
+            int ordinal = b < 0 || b >= blockCount ? -1 : policy.ordinal((int) b, blockCount, traced);
+            if (ordinal < 0) {
+                return -1;
+            }
+            int line = eventLine[e] + data[at + 5] + ordinal * linesPerBlock();
+            return isSkipping() && ordinal >= gap ? line + 1 : line;
+        }
+        return -1;
+    }
+
+    // ===== pencatatan event (callback mesin) =====
+
+    // judul, teks input, matriks kunci (disalin, karena matriks milik pemanggil bisa berubah) dan determinan
+    @Override
+    public void start(boolean decrypt, CharSequence text, int[][] keyMatrix, int modulus, int determinant, int paddingCount) {
+        this.decrypt = decrypt;
+        this.size = keyMatrix.length;
+        this.mod = modulus;
+        this.textLength = text == null ? 0 : text.length();
+        this.paddingCount = paddingCount;
+        add(titleLines(paddingCount), TITLE, ref(text), paddingCount);
+
+        int[][] copy = new int[size][];
+        for (int i = 0; i < size; i++) {
+            copy[i] = keyMatrix[i].clone();
+        }
+        keyRef = ref(copy);
+        add(keyLines(), KEY, keyRef);
+        add(DETERMINANT_LINES, DETERMINANT, determinant);
+    }
+
+    // langkah mencari invers: determinan, inversnya, lalu rumus 2x2 / kofaktor 3x3 / Gauss-Jordan NxN
+    @Override
+    public void inverse(int determinant, int detInverse, int[][] inverseMatrix) {
+        add(inverseLines(), INVERSE, keyRef, determinant, detInverse, ref(inverseMatrix));
+    }
+
+    // simbol input: pilih blok yang dicatat, lalu angka, padding (enkripsi), matriks dan daftar blok
+    // (jalur streaming tidak memanggilnya, blok dipilih per panggilan blocks())
+    @Override
+    public void symbols(byte[] symbols, int count, int length) {
+        selectBlocks(length / size);
+        selected = true;
+        int symbolsRef = ref(symbols);
+        add(NUMBERS_LINES, NUMBERS, symbolsRef, count);
+        if (!decrypt) {
+            paddingCount = length - count;
+            add(paddingLines(length - count), PADDING, symbolsRef, count, length);
+        }
+        matrix(symbolsRef, length);
+        add(blockListLines(), BLOCK_LIST, symbolsRef);
+    }
+
+    // perkalian blok [from, to): baris perkalian dirender dari matriks dan simbol input blok tercatat
+    @Override
+    public void blocks(int[][] matrix, byte[] input, byte[] output, int from, int to) {
+        if (!selected) {
+            selectBlocks((to - from) / size);
+        }
+        int header = blocksStarted ? 0 : BLOCKS_HEADER_LINES;
+        add(blocksLines(header), BLOCKS, ref(matrix), ref(input), ref(output), from,
+                header, (int) (blockBase >>> 32), (int) blockBase);
+        blocksStarted = true;
+        selected = false;
+        blockBase += (to - from) / size;
+    }
+
+    // result/withPadding null kalau hasil langsung ditulis ke stream
+    @Override
+    public void finish(String withPadding, int paddingCount, String result) {
+        this.paddingCount = paddingCount;
+        if (!decrypt) {
+            add(CIPHERTEXT_LINES, CIPHERTEXT, ref(result), paddingCount);
+            return;
+        }
+        boolean removed = paddingCount > 0 && withPadding != null && withPadding.length() >= paddingCount;
+        add(plaintextLines(removed), PLAINTEXT, ref(withPadding), paddingCount, ref(result));
+    }
+
+    // pilih blok yang dicatat dari perkiraan panjang teks per blok
+    private void selectBlocks(int blockCount) {
+        long blockBytes = numbersChars() + paddingChars() + matrixChars() + blockListChars() + blocksChars();
+        long fixedBytes = fixedChars();
+        this.blockCount = blockCount;
+        this.traced = policy.tracedBlocks(blockCount, blockBytes, fixedBytes);
+        this.gap = policy.gap(traced);
+    }
+
+    // teks yang tidak bergantung jumlah blok: teks input/hasil (judul, ciphertext/plaintext akhir),
+    // judul-judul bagian, serta matriks kunci dan invers
+    private long fixedChars() {
+        return 4L * textLength + 1024 + 10L * size * size;
+    }
+
+    // indeks blok untuk blok tercatat ke-ordinal
+    private int tracedBlock(int ordinal) {
+        return policy.block(ordinal, blockCount, traced);
+    }
+
+    // simbol ditampilkan sebagai matriks 2 atau 3 kolom
+    // kalau ada blok yang dilewati, hanya baris matriks yang memuat simbol blok tercatat yang disimpan (int[] kecil)
+    private void matrix(int symbolsRef, int count) {
+        int columns = columns();
+        int rows = (count + columns - 1) / columns;
+        if (!isSkipping()) {
+            add(matrixLines(rows, false), MATRIX, symbolsRef, count, ref(null), rows, rows);
+            return;
+        }
+        int[] kept = new int[16];
+        int keptCount = 0;
+        int gapRow = 0;
+        for (int k = 0; k < traced; k++) {
+            if (k == gap) gapRow = keptCount;
+            int b = tracedBlock(k);
+            int last = Math.min(rows - 1, (b * size + size - 1) / columns);
+            for (int row = (b * size) / columns; row <= last; row++) {
+                if (keptCount > 0 && kept[keptCount - 1] >= row) continue;
+                if (keptCount == kept.length) kept = Arrays.copyOf(kept, keptCount * 2);
+                kept[keptCount++] = row;
+            }
+        }
+        if (gap == traced) gapRow = keptCount;
+        add(matrixLines(keptCount, true), MATRIX, symbolsRef, count, ref(Arrays.copyOf(kept, keptCount)), keptCount, gapRow);
+    }
+
+    private int ref(Object value) {
+        if (refCount == refs.length) {
+            refs = Arrays.copyOf(refs, refCount * 2);
+        }
+        refs[refCount] = value;
+        return refCount++;
+    }
+
+    private void add(int lines, int... event) {
+        if (events == eventAt.length) {
+            eventAt = Arrays.copyOf(eventAt, events * 2);
+            eventLine = Arrays.copyOf(eventLine, events * 2);
+        }
+        if (dataLength + event.length > data.length) {
+            data = Arrays.copyOf(data, Math.max(dataLength + event.length, data.length * 2));
+        }
+        eventAt[events] = dataLength;
+        eventLine[events] = lineCount;
+        events++;
+        System.arraycopy(event, 0, data, dataLength, event.length);
+        dataLength += event.length;
+        lineCount += lines;
+    }
+
+    private boolean isSkipping() {
+        return traced < blockCount;
+    }
+
+    private int columns() {
+        if (classic3x3) return 3;
+        return decrypt && size != 2 ? 3 : 2;
+    }
+
+    // ===== render =====
+
+    private void render(int at, int line, StringBuilder out, int limit) {
+        switch (data[at]) {
+            case TITLE -> renderTitle(at, line, out, limit);
+            case KEY -> renderKey(at, line, out);
+            case DETERMINANT -> renderDeterminant(at, line, out);
+            case INVERSE -> renderInverse(at, line, out);
+            case NUMBERS -> renderNumbers(at, line, out, limit);
+            case PADDING -> renderPadding(at, line, out, limit);
+            case MATRIX -> renderMatrix(at, line, out);
+            case BLOCK_LIST -> renderBlockList(at, line, out);
+            case BLOCKS -> renderBlocks(at, line, out);
+            case CIPHERTEXT -> renderCiphertext(at, out, limit);
+            case PLAINTEXT -> renderPlaintext(at, line, out, limit);
+            default -> throw new IllegalStateException("Event tidak dikenal: " + data[at]);
+        }
+    }
+
+    // judul, garis, teks input, baris jumlah padding (dekripsi) atau kosong, lalu baris kosong
+    private int titleLines(int paddingCount) {
+        return decrypt && paddingCount > 0 ? 5 : 4;
+    }
+
+    private void renderTitle(int at, int line, StringBuilder out, int limit) {
+        int paddingCount = data[at + 2];
+        switch (line) {
+            case 0 -> out.append(decrypt ? "PROSES DEKRIPSI HILL CIPHER" : "PROSES ENKRIPSI HILL CIPHER").append(classic3x3 ? " 3x3" : "");
+            case 1 -> out.append(classic3x3 ? "================================" : "============================");
+            case 2 -> {
+                CharSequence text = (CharSequence) refs[data[at + 1]];
+                appendClipped(out.append(decrypt ? "Ciphertext: " : "Plaintext: "), text == null ? "(dibaca dari stream)" : text, limit);
+            }
+            case 3 -> {
+                if (decrypt && paddingCount > 0) {
+                    out.append("Jumlah padding yang akan dihapus: ").append(paddingCount).append(" karakter");
+                }
+            }
+            default -> { }
+        }
+    }
+
+    // judul lalu satu baris per baris matriks
+    private int keyLines() {
+        return 1 + size;
+    }
+
+    private void renderKey(int at, int line, StringBuilder out) {
+        if (line == 0) {
+            out.append("Kunci Matriks ").append(size).append('x').append(size).append(':');
+            return;
+        }
+        for (int value : ((int[][]) refs[data[at + 1]])[line - 1]) {
+            pad(out, value, 2).append(' ');
+        }
+    }
+
+    // determinan, GCD, baris kosong
+    private static final int DETERMINANT_LINES = 3;
+
+    private void renderDeterminant(int at, int line, StringBuilder out) {
+        int det = data[at + 1];
+        if (line == 0) {
+            out.append("Determinan: ").append(det);
+        } else if (line == 1) {
+            out.append("GCD(").append(det).append(", ").append(mod).append(") = ").append(HillCipherUtility.gcd(det, mod));
+        }
+    }
+
+    // 5 baris judul/determinan, rincian per ukuran, baris kosong
+    private int inverseLines() {
+        int method = size == 2 ? INVERSE_2X2_LINES : size == 3 ? INVERSE_3X3_LINES : inverseNxNLines();
+        return 5 + method + 1;
+    }
+
+    private void renderInverse(int at, int line, StringBuilder out) {
+        int[][] matrix = (int[][]) refs[data[at + 1]];
+        int det = data[at + 2];
+        int detInverse = data[at + 3];
+        int[][] inverse = (int[][]) refs[data[at + 4]];
+        switch (line) {
+            case 0 -> out.append("MENCARI MATRIKS INVERS:");
+            case 1 -> out.append("======================");
+            case 2 -> out.append("Determinan matriks: ").append(det);
+            case 3 -> out.append("Invers determinan modulo ").append(mod).append(": ").append(detInverse);
+            case 4 -> out.append("(Karena ").append(det).append(" × ").append(detInverse).append(" ≡ 1 mod ").append(mod).append(')');
+            default -> {
+                line -= 5;
+                if (size == 2) {
+                    renderInverse2x2(matrix, detInverse, inverse, line, out);
+                } else if (size == 3) {
+                    renderInverse3x3(matrix, inverse, line, out);
+                } else {
+                    renderInverseNxN(inverse, line, out);
+                }
+            }
+        }
+    }
+
+    // baris 0-13 di renderInverse2x2
+    private static final int INVERSE_2X2_LINES = 14;
+
+    private void renderInverse2x2(int[][] m, int detInverse, int[][] inverse, int line, StringBuilder out) {
+        switch (line) {
+            case 1 -> out.append("Rumus invers matriks 2x2:");
+            case 2 -> out.append("[a b]⁻¹ = (1/det) × [d -b]");
+            case 3 -> out.append("[c d]          [-c  a]");
+            case 5 -> out.append("Perhitungan:");
+            case 6 -> inverseEntry(out, "inverse[0][0] = (", m[1][1], detInverse, inverse[0][0]);
+            case 7 -> inverseEntry(out, "inverse[0][1] = (-", m[0][1], detInverse, inverse[0][1]);
+            case 8 -> inverseEntry(out, "inverse[1][0] = (-", m[1][0], detInverse, inverse[1][0]);
+            case 9 -> inverseEntry(out, "inverse[1][1] = (", m[0][0], detInverse, inverse[1][1]);
+            case 11 -> out.append("Matriks Invers:");
+            case 12, 13 -> out.append('[').append(inverse[line - 12][0]).append(' ').append(inverse[line - 12][1]).append(']');
+            default -> { }
+        }
+    }
+
+    private void inverseEntry(StringBuilder out, String prefix, int value, int detInverse, int result) {
+        out.append(prefix).append(value).append(" × ").append(detInverse).append(") mod ").append(mod).append(" = ").append(result);
+    }
+
+    // baris 0-11 di renderInverse3x3
+    private static final int INVERSE_3X3_LINES = 12;
+
+    private void renderInverse3x3(int[][] m, int[][] inverse, int line, StringBuilder out) {
+        switch (line) {
+            case 1 -> out.append("Menghitung matriks kofaktor:");
+            case 2 -> out.append("Matriks Kofaktor:");
+            case 3, 4, 5 -> {
+                // kofaktor C[i][j] = (-1)^(i+j) x minor(i, j), mod m
+                int i = line - 3;
+                int r0 = i == 0 ? 1 : 0;
+                int r1 = i == 2 ? 1 : 2;
+                for (int j = 0; j < 3; j++) {
+                    int c0 = j == 0 ? 1 : 0;
+                    int c1 = j == 2 ? 1 : 2;
+                    int minor = m[r0][c0] * m[r1][c1] - m[r0][c1] * m[r1][c0];
+                    pad(out, Math.floorMod((i + j) % 2 == 0 ? minor : -minor, mod), 4).append(' ');
+                }
+            }
+            case 7 -> out.append("Transpose matriks kofaktor (Adjoint):");
+            case 8 -> out.append("Matriks Invers (Adjoint × detInverse):");
+            case 9, 10, 11 -> row4(out, inverse[line - 9]);
+            default -> { }
+        }
+    }
+
+    // keterangan, matriks invers di baris 5 sampai 5 + size
+    private int inverseNxNLines() {
+        return 5 + size;
+    }
+
+    private void renderInverseNxN(int[][] inverse, int line, StringBuilder out) {
+        switch (line) {
+            case 1 -> out.append("Invers dihitung dengan eliminasi Gauss-Jordan modulo ").append(mod).append(':');
+            case 2 -> out.append("[K | I] direduksi baris menjadi [I | K⁻¹]");
+            case 4 -> out.append("Matriks Invers:");
+            default -> {
+                if (line >= 5 && line < 5 + size) {
+                    row4(out, inverse[line - 5]);
+                }
+            }
+        }
+    }
+
+    // angka lalu baris kosong
+    private static final int NUMBERS_LINES = 2;
+
+    // "C = nn, " per simbol
+    private long numbersChars() {
+        return 9L * size;
+    }
+
+    private void renderNumbers(int at, int line, StringBuilder out, int limit) {
+        if (line != 0) return;
+        out.append(decrypt ? "Ciphertext -> Angka: " : "Plaintext -> Angka: ");
+        appendEntries(out, true, (byte[]) refs[data[at + 1]], data[at + 2], limit);
+    }
+
+    // keterangan, simbol setelah padding (kalau ada), baris kosong
+    private static int paddingLines(int padding) {
+        return padding > 0 ? 3 : 2;
+    }
+
+    // "nn, " per simbol
+    private long paddingChars() {
+        return 4L * size;
+    }
+
+    private void renderPadding(int at, int line, StringBuilder out, int limit) {
+        byte[] symbols = (byte[]) refs[data[at + 1]];
+        int length = data[at + 3];
+        int padding = length - data[at + 2];
+        if (padding == 0) {
+            if (line == 0) out.append("Tidak perlu padding");
+        } else if (line == 0) {
+            out.append("Penambahan padding (").append(padding).append(" karakter 'X'):");
+        } else if (line == 1) {
+            out.append("Setelah padding: ");
+            appendEntries(out, false, symbols, length, limit);
+        }
+    }
+
+    // judul, garis, baris matriks (ditambah baris lewati), baris kosong
+    private static int matrixLines(int rows, boolean skipping) {
+        return 3 + rows + (skipping ? 1 : 0);
+    }
+
+    // "nn  " per simbol
+    private long matrixChars() {
+        return 5L * size;
+    }
+
+    private void renderMatrix(int at, int line, StringBuilder out) {
+        byte[] symbols = (byte[]) refs[data[at + 1]];
+        int count = data[at + 2];
+        int[] kept = (int[]) refs[data[at + 3]];
+        int rows = data[at + 4];
+        int gapRow = data[at + 5];
+        int columns = columns();
+        if (line == 0) {
+            out.append(decrypt ? "MATRIKS CIPHERTEXT" : "MATRIKS PLAINTEXT").append(classic3x3 ? " (3 kolom):" : ":");
+        } else if (line == 1) {
+            if (decrypt) {
+                out.append(classic3x3 ? "=============================" : "===================");
+            } else {
+                out.append(classic3x3 ? "============================" : "=================");
+            }
+        } else if (kept != null && line - 2 == gapRow) {
+            skipped(out);
+        } else if (line - 2 < rows + (kept != null ? 1 : 0)) {
+            // baris terakhir yang tidak penuh: format 3x3 lama mengisi kolom kosong dengan spasi
+            boolean placeholder = classic3x3 && !decrypt;
+            int row = line - 2;
+            if (kept != null) {
+                row = kept[row < gapRow ? row : row - 1];
+            }
+            int from = row * columns;
+            out.append('[');
+            for (int j = 0; j < columns; j++) {
+                if (from + j < count) {
+                    pad(out, symbols[from + j] & 0xFF, 2);
+                } else if (placeholder) {
+                    out.append("  ");
+                }
+                if (j < columns - 1) out.append("  ");
+            }
+            out.append(']');
+        }
+    }
+
+    // judul, garis, satu baris per blok tercatat (ditambah baris lewati), baris kosong
+    private int blockListLines() {
+        return 3 + traced + (isSkipping() ? 1 : 0);
+    }
+
+    // "Blok n: [a, b]"
+    private long blockListChars() {
+        return 12 + 4L * size;
+    }
+
+    private void renderBlockList(int at, int line, StringBuilder out) {
+        byte[] symbols = (byte[]) refs[data[at + 1]];
+        if (line == 0) {
+            out.append(classic3x3 ? "PEMBAGIAN BLOK (3 karakter per blok):" : "PEMBAGIAN BLOK:");
+        } else if (line == 1) {
+            out.append(classic3x3 ? "====================================" : "==============");
+        } else if (isSkipping() && line - 2 == gap) {
+            skipped(out);
+        } else if (line - 2 < traced + (isSkipping() ? 1 : 0)) {
+            int k = line - 2;
+            int b = tracedBlock(isSkipping() && k > gap ? k - 1 : k);
+            block(out, "Blok ", symbols, b * size, b + 1);
+        }
+    }
+
+    // judul dan garis, hanya di panggilan blocks() pertama
+    private static final int BLOCKS_HEADER_LINES = 2;
+
+    private int blocksLines(int header) {
+        return header + traced * linesPerBlock() + (isSkipping() ? 1 : 0);
+    }
+
+    // blok input, keterangan perkalian, baris perkalian (3 per baris untuk format 3x3 lama), hasil, baris kosong
+    private int linesPerBlock() {
+        return 4 + (classic3x3 ? 3 * size : size);
+    }
+
+    // dua baris "Blok n: [..] (..)", keterangan perkalian dan baris perkalian
+    private long blocksChars() {
+        int perRow = classic3x3 ? 2 * (30 + 8 * size) : 30 + 8 * size;
+        return 32 + 2 * (20 + 6L * size) + (long) size * perRow;
+    }
+
+    private void renderBlocks(int at, int line, StringBuilder out) {
+        int header = data[at + 5];
+        if (line < header) {
+            out.append(line == 0 ? (decrypt ? "PROSES DEKRIPSI PER BLOK:" : "PROSES ENKRIPSI PER BLOK:") : "========================");
+            return;
+        }
+        int[][] matrix = (int[][]) refs[data[at + 1]];
+        byte[] input = (byte[]) refs[data[at + 2]];
+        byte[] output = (byte[]) refs[data[at + 3]];
+        int from = data[at + 4];
+        long previous = ((long) data[at + 6] << 32) | (data[at + 7] & 0xFFFFFFFFL);
+        int perBlock = linesPerBlock();
+        int index = line - header;
+        if (isSkipping() && index >= gap * perBlock) {
+            if (index == gap * perBlock) {
+                skipped(out);
+                return;
+            }
+            index--;
+        }
+        int ordinal = index / perBlock;
+        int k = index % perBlock;
+        int b = tracedBlock(ordinal);
+        int offset = from + b * size;
+        long number = previous + b + 1;
+
+        if (k == 0) {
+            blockWithChars(out, "Blok ", input, offset, number);
+        } else if (k == 1) {
+            out.append(decrypt ? "Perkalian dengan matriks invers:" : "Perkalian dengan matriks kunci:");
+        } else if (k == perBlock - 2) {
+            blockWithChars(out, "Hasil blok ", output, offset, number);
+        } else if (k < perBlock - 2) {
+            int row = classic3x3 ? (k - 2) / 3 : k - 2;
+            int part = classic3x3 ? (k - 2) % 3 : 1;
+            int sum = 0;
+            for (int j = 0; j < size; j++) {
+                sum += matrix[row][j] * (input[offset + j] & 0xFF);
+            }
+            if (part == 0) {
+                // format 3x3 lama: rincian perkalian dulu
+                out.append("    = ");
+                for (int j = 0; j < size; j++) {
+                    out.append('(').append(matrix[row][j]).append('×').append(input[offset + j] & 0xFF).append(')');
+                    if (j < size - 1) out.append(" + ");
+                }
+                out.append(" = ").append(sum);
+            } else if (part == 1) {
+                out.append("  Baris ").append(row + 1).append(": (");
+                for (int j = 0; j < size; j++) {
+                    out.append(matrix[row][j]).append('×').append(input[offset + j] & 0xFF);
+                    if (j < size - 1) out.append(" + ");
+                }
+                out.append(classic3x3 ? ") = " : ") mod " + mod + " = ").append(sum)
+                   .append(" mod ").append(mod).append(" = ").append(output[offset + row] & 0xFF);
+            }
+        }
+    }
+
+    private static final int CIPHERTEXT_LINES = 1;
+
+    private void renderCiphertext(int at, StringBuilder out, int limit) {
+        String ciphertext = (String) refs[data[at + 1]];
+        out.append("Ciphertext akhir: ");
+        if (ciphertext == null) {
+            out.append("(ditulis ke stream, padding ").append(data[at + 2]).append(" karakter)");
+        } else {
+            appendClipped(out, ciphertext, limit);
+        }
+    }
+
+    // hasil dengan padding dan padding yang dihapus (kalau ada), lalu plaintext akhir
+    private static int plaintextLines(boolean removed) {
+        return removed ? 3 : 1;
+    }
+
+    private void renderPlaintext(int at, int line, StringBuilder out, int limit) {
+        String withPadding = (String) refs[data[at + 1]];
+        int paddingCount = data[at + 2];
+        String plaintext = (String) refs[data[at + 3]];
+        boolean removed = paddingCount > 0 && withPadding != null && withPadding.length() >= paddingCount;
+        if (removed && line == 0) {
+            appendClipped(out.append("Hasil dekripsi dengan padding: "), withPadding, limit);
+        } else if (removed && line == 1) {
+            out.append("Menghapus ").append(paddingCount).append(" karakter padding: '")
+               .append(withPadding, withPadding.length() - paddingCount, withPadding.length()).append('\'');
+        } else if (plaintext == null) {
+            out.append("Plaintext akhir: (ditulis ke stream, ").append(paddingCount).append(" karakter padding dihapus)");
+        } else {
+            appendClipped(out.append("Plaintext akhir: "), plaintext, limit);
+        }
+    }
+
+    // ===== bantu format =====
+
+    // "Blok n: [a, b, c]", simbol blok mulai di symbols[offset]
+    private void block(StringBuilder out, String label, byte[] symbols, int offset, long number) {
+        out.append(label).append(number).append(": [");
+        for (int i = offset, end = offset + size; i < end; i++) {
+            out.append(symbols[i] & 0xFF);
+            if (i < end - 1) out.append(", ");
+        }
+        out.append(']');
+    }
+
+    // "Blok n: [a, b, c] --> A B C"
+    private void blockWithChars(StringBuilder out, String label, byte[] symbols, int offset, long number) {
+        block(out, label, symbols, offset, number);
+        out.append(" --> ");
+        for (int j = 0; j < size; j++) {
+            out.append(HillCipherUtility.numberToChar(symbols[offset + j] & 0xFF));
+            if (j < size - 1) out.append(' ');
+        }
+    }
+
+    // "... n blok tidak ditampilkan (aturan) ..."
+    private void skipped(StringBuilder out) {
+        out.append("... ").append(blockCount - traced).append(" blok tidak ditampilkan (").append(policy).append(") ...");
+    }
+
+    // teks sampai panjang out mencapai limit
+    private static void appendClipped(StringBuilder out, CharSequence text, int limit) {
+        out.append(text, 0, Math.max(0, Math.min(text.length(), limit - out.length())));
+    }
+
+    // daftar simbol blok tercatat dipisah ", " (dengan "..." di posisi blok yang dilewati),
+    // withChars: "C = n" dengan C karakter simbolnya; berhenti setelah panjang out mencapai limit
+    private void appendEntries(StringBuilder out, boolean withChars, byte[] symbols, int count, int limit) {
+        boolean first = true;
+        for (int k = 0; k <= traced && out.length() < limit; k++) {
+            if (k == gap && isSkipping()) {
+                out.append(first ? "..." : ", ...");
+                first = false;
+            }
+            if (k == traced) break;
+            int b = tracedBlock(k);
+            for (int i = b * size, end = Math.min(count, b * size + size); i < end && out.length() < limit; i++) {
+                if (!first) out.append(", ");
+                first = false;
+                if (withChars) {
+                    out.append(HillCipherUtility.numberToChar(symbols[i] & 0xFF)).append(" = ");
+                }
+                out.append(symbols[i] & 0xFF);
+            }
+        }
+    }
+
+    // baris matriks dengan lebar kolom 4 ("%4d ")
+    private static void row4(StringBuilder out, int[] row) {
+        for (int value : row) {
+            pad(out, value, 4).append(' ');
+        }
+    }
+
+    // sama dengan String.format("%" + width + "d", value)
+    private static StringBuilder pad(StringBuilder out, int value, int width) {
+        int length = Integer.toString(value).length();
+        for (int i = length; i < width; i++) {
+            out.append(' ');
+        }
+        return out.append(value);
+    }
+}
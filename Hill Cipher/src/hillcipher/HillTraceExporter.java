@@ -0,0 +1,107 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+// ekspor jejak detail langsung ke Writer/file selama enkripsi/dekripsi berjalan
+// setiap callback mesin dicatat ke HillTrace internal, barisnya langsung ditulis lalu dibuang, jadi memori
+// yang dipakai konstan; dengan HillCipherStream.encrypt/decrypt(..., listener) input 100 MB pun cukup satu chunk
+// bagian ringkasan angka/matriks/daftar blok tidak ditulis: isinya sama dengan baris per blok dan satu barisnya
+// sepanjang seluruh input
+// error tulis dilempar sebagai UncheckedIOException (HillCipherStream mengembalikannya sebagai IOException)
+public final class HillTraceExporter implements HillTraceListener, Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer out;
+    private final HillTrace trace = new HillTrace();
+    private final StringBuilder line = new StringBuilder();
+    private long lineCount;
+
+    // out sebaiknya sudah dibuffer (mis. BufferedWriter)
+    public HillTraceExporter(Writer out) {
+        this.out = out;
+    }
+
+    // tulis ke file UTF-8, gzip = dikompres (mis. untuk nama file *.txt.gz)
+    public static HillTraceExporter open(Path file, boolean gzip) throws IOException {
+        OutputStream stream = Files.newOutputStream(file);
+        try {
+            if (gzip) {
+                stream = new GZIPOutputStream(stream, BUFFER_SIZE);
+            }
+        } catch (IOException e) {
+            stream.close();
+            throw e;
+        }
+        return new HillTraceExporter(new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    // jumlah baris yang sudah ditulis
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    @Override
+    public void start(boolean decrypt, CharSequence text, int[][] keyMatrix, int modulus, int determinant, int paddingCount) {
+        trace.start(decrypt, text, keyMatrix, modulus, determinant, paddingCount);
+        flushLines();
+    }
+
+    @Override
+    public void inverse(int determinant, int detInverse, int[][] inverseMatrix) {
+        trace.inverse(determinant, detInverse, inverseMatrix);
+        flushLines();
+    }
+
+    @Override
+    public void blocks(int[][] matrix, byte[] input, byte[] output, int from, int to) {
+        trace.blocks(matrix, input, output, from, to);
+        flushLines();
+    }
+
+    @Override
+    public void finish(String withPadding, int paddingCount, String result) {
+        trace.finish(withPadding, paddingCount, result);
+        flushLines();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    // tulis semua baris yang tercatat, lalu kosongkan jejak
+    private void flushLines() {
+        try {
+            for (int i = 0, n = trace.size(); i < n; i++) {
+                line.setLength(0);
+                trace.appendLine(i, line);
+                out.append(line).append('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lineCount += trace.size();
+        trace.discard();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+// penerima langkah-langkah mesin enkripsi/dekripsi (HillCipherEngine.encrypt/decrypt dengan listener)
+// semua method default kosong; NONE dipakai jalur cepat: isEnabled() false, jadi mesin melewati semua
+// persiapan jejak dan JIT menghapus cabangnya (mode detail dan biasa memakai kode serta kernel yang sama)
+// array yang diterima tidak diubah lagi oleh mesin setelah callback, boleh disimpan sebagai referensi,
+// kecuali di HillCipherStream: buffer chunk dipakai ulang, jadi isinya harus dipakai di dalam callback (HillTraceExporter)
+public interface HillTraceListener {
+
+    HillTraceListener NONE = new HillTraceListener() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    default boolean isEnabled() {
+        return true;
+    }
+
+    // awal proses: teks input (null kalau dibaca dari stream), matriks kunci seperti dimasukkan,
+    // determinan (tanpa mod untuk 2x2/3x3) dan untuk dekripsi jumlah padding yang akan dibuang
+    default void start(boolean decrypt, CharSequence text, int[][] keyMatrix, int modulus, int determinant, int paddingCount) {
+    }
+
+    // dekripsi: invers determinan dan matriks invers modulo
+    default void inverse(int determinant, int detInverse, int[][] inverseMatrix) {
+    }
+
+    // simbol setelah normalisasi: [0, count) dari teks, [count, length) padding
+    default void symbols(byte[] symbols, int count, int length) {
+    }
+
+    // blok [from, to) sudah dikalikan dengan matrix, input tetap utuh dan hasilnya di output
+    // streaming memanggilnya sekali per chunk, blok berikutnya melanjutkan nomor blok sebelumnya
+    default void blocks(int[][] matrix, byte[] input, byte[] output, int from, int to) {
+    }
+
+    // hasil akhir; withPadding = hasil sebelum paddingCount simbol terakhir dibuang (enkripsi: sama dengan result)
+    // keduanya null kalau hasil langsung ditulis ke stream
+    default void finish(String withPadding, int paddingCount, String result) {
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+// aturan blok mana yang dicatat di HillTrace untuk input besar
+// semua blok tetap dihitung; blok yang tidak dicatat hanya muncul sebagai satu baris ringkasan
+// berisi jumlahnya, dan bagian jejak per blok (angka, matriks, daftar blok, perkalian) memakai pilihan blok yang sama
+public final class HillTracePolicy {
+
+    private static final int ALL = 0;
+    private static final int FIRST_LAST = 1;
+    private static final int EVERY = 2;
+    private static final int BUDGET = 3;
+
+    // semua blok dicatat (perilaku lama)
+    public static final HillTracePolicy FULL = new HillTracePolicy(ALL, 0, 0, 0);
+
+    // dipakai tampilan GUI: sekitar 4 MB teks jejak, cukup untuk ribuan blok
+    public static final HillTracePolicy DEFAULT = byteBudget(4L << 20);
+
+    private final int mode;
+    private final int first;
+    private final int last;
+    private final long limit;
+
+    private HillTracePolicy(int mode, int first, int last, long limit) {
+        this.mode = mode;
+        this.first = first;
+        this.last = last;
+        this.limit = limit;
+    }
+
+    // first blok pertama dan last blok terakhir
+    public static HillTracePolicy firstLast(int first, int last) {
+        if (first < 0 || last < 0) {
+            throw new IllegalArgumentException("Jumlah blok tidak boleh negatif");
+        }
+        return new HillTracePolicy(FIRST_LAST, first, last, 0);
+    }
+
+    // blok 1, 1 + step, 1 + 2*step, ...
+    public static HillTracePolicy everyNth(int step) {
+        if (step < 1) {
+            throw new IllegalArgumentException("Langkah sampling harus minimal 1");
+        }
+        return new HillTracePolicy(EVERY, 0, 0, step);
+    }
+
+    // blok awal sebanyak yang muat dalam perkiraan bytes karakter teks jejak
+    public static HillTracePolicy byteBudget(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Batas byte tidak boleh negatif");
+        }
+        return new HillTracePolicy(BUDGET, 0, 0, bytes);
+    }
+
+    public boolean isFull() {
+        return mode == ALL;
+    }
+
+    // jumlah blok yang dicatat dari blockCount blok
+    // blockBytes = perkiraan teks satu blok, fixedBytes = perkiraan teks di luar bagian per blok
+    int tracedBlocks(int blockCount, long blockBytes, long fixedBytes) {
+        return switch (mode) {
+            case FIRST_LAST -> (int) Math.min(blockCount, (long) first + last);
+            case EVERY -> (int) ((blockCount + limit - 1) / limit);
+            case BUDGET -> (int) Math.min(blockCount, Math.max(0, limit - fixedBytes) / Math.max(1, blockBytes));
+            default -> blockCount;
+        };
+    }
+
+    // indeks blok untuk blok tercatat ke-ordinal
+    int block(int ordinal, int blockCount, int traced) {
+        return switch (mode) {
+            case FIRST_LAST -> ordinal < first ? ordinal : blockCount - traced + ordinal;
+            case EVERY -> (int) (ordinal * limit);
+            default -> ordinal;
+        };
+    }
+
+    // kebalikan block(): ordinal untuk indeks blok, -1 kalau blok tidak dicatat
+    int ordinal(int block, int blockCount, int traced) {
+        return switch (mode) {
+            case FIRST_LAST -> block < first ? block : block - blockCount + traced >= first ? block - blockCount + traced : -1;
+            case EVERY -> block % limit == 0 ? (int) (block / limit) : -1;
+            default -> block < traced ? block : -1;
+        };
+    }
+
+    // posisi (ordinal) baris ringkasan blok yang dilewati
+    int gap(int traced) {
+        return mode == FIRST_LAST ? Math.min(first, traced) : traced;
+    }
+
+    @Override
+    public String toString() {
+        return switch (mode) {
+            case FIRST_LAST -> first + " blok pertama dan " + last + " blok terakhir";
+            case EVERY -> "setiap " + limit + " blok";
+            case BUDGET -> "batas " + limit + " byte";
+            default -> "semua blok";
+        };
+    }
+}
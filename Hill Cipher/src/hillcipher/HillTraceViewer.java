@@ -0,0 +1,228 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.util.List;
+import java.util.Locale;
+import javax.swing.AbstractListModel;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+// tampilan langkah detail di HasilEncryptFrame/HasilDecryptFrame
+// baris ditampilkan lewat JList virtual: model merender hanya baris yang terlihat, paling banyak
+// MAX_LINE_CHARS karakter (HillTrace.appendLine berhenti di batas, jadi baris teks input tidak dirender penuh),
+// dan tinggi/lebar sel tetap, jadi tidak ada baris yang diukur di awal; lompat ke blok memakai HillTrace.findBlockLine, pencarian berjalan per potongan baris di Timer
+// supaya jejak panjang tidak membekukan GUI
+public final class HillTraceViewer extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    // baris yang diperiksa per tick pencarian
+    private static final int SEARCH_SLICE = 2000;
+
+    // baris yang lebih panjang dipotong di tampilan (mis. baris plaintext/ciphertext dari input besar)
+    private static final int MAX_LINE_CHARS = 1000;
+
+    // jumlah baris awal yang diukur untuk lebar sel
+    private static final int MEASURED_LINES = 200;
+    private static final int MAX_CELL_WIDTH = 4000;
+
+    private final transient List<String> steps;
+    private final JList<String> list;
+    private final JTextField blockField = new JTextField(6);
+    private final JTextField searchField = new JTextField(14);
+    private final JLabel status = new JLabel(" ");
+    private final Timer searchTimer;
+
+    // pencarian yang sedang berjalan
+    private String query;
+    private int searchFrom;
+    private int searched;
+
+    public HillTraceViewer(List<String> steps, Font font, Color background, Color foreground) {
+        super(new BorderLayout(0, 4));
+        this.steps = steps;
+        setOpaque(false);
+
+        list = new JList<>(new StepListModel(steps));
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setFont(font);
+        list.setBackground(background);
+        list.setForeground(foreground);
+        FontMetrics metrics = list.getFontMetrics(font);
+        list.setFixedCellHeight(metrics.getHeight() + 2);
+        list.setFixedCellWidth(cellWidth(metrics));
+
+        JButton jumpButton = new JButton("Lompat");
+        jumpButton.setFocusPainted(false);
+        jumpButton.addActionListener(e -> jumpToBlock());
+        blockField.addActionListener(e -> jumpToBlock());
+
+        // cari sambil mengetik dari baris terpilih, Enter = hasil berikutnya
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                startSearch(searchField.getText(), Math.max(0, list.getSelectedIndex()));
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                startSearch(searchField.getText(), Math.max(0, list.getSelectedIndex()));
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        searchField.addActionListener(e -> startSearch(searchField.getText(), list.getSelectedIndex() + 1));
+
+        searchTimer = new Timer(0, e -> searchStep());
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 0));
+        toolbar.setOpaque(false);
+        toolbar.add(label("Blok:", foreground));
+        toolbar.add(style(blockField, background, foreground));
+        toolbar.add(jumpButton);
+        toolbar.add(label("Cari:", foreground));
+        toolbar.add(style(searchField, background, foreground));
+        toolbar.add(status);
+        status.setForeground(foreground);
+
+        add(toolbar, BorderLayout.NORTH);
+        add(new JScrollPane(list), BorderLayout.CENTER);
+    }
+
+    // lompat ke baris proses blok ke-n (mulai 1)
+    private void jumpToBlock() {
+        long number;
+        try {
+            number = Long.parseLong(blockField.getText().trim());
+        } catch (NumberFormatException e) {
+            status.setText("Nomor blok tidak valid");
+            return;
+        }
+        if (steps instanceof HillTrace) {
+            HillTrace trace = (HillTrace) steps;
+            int line = trace.findBlockLine(number);
+            if (line < 0) {
+                status.setText(number < 1 || number > trace.getBlockCount()
+                        ? "Blok " + number + " tidak ada"
+                        : "Blok " + number + " tidak ditampilkan (" + trace.getPolicy() + ")");
+                return;
+            }
+            select(line);
+            status.setText("Blok " + number);
+        } else {
+            startSearch("Blok " + number + ":", 0);
+        }
+    }
+
+    private void startSearch(String text, int from) {
+        searchTimer.stop();
+        if (text.isEmpty() || steps.isEmpty()) {
+            status.setText(" ");
+            return;
+        }
+        query = text.toLowerCase(Locale.ROOT);
+        searchFrom = from % steps.size();
+        searched = 0;
+        status.setText("Mencari...");
+        searchTimer.start();
+    }
+
+    // periksa SEARCH_SLICE baris berikutnya (memutar ke awal), berhenti di baris pertama yang cocok
+    // dicocokkan dengan teks yang ditampilkan (sudah dipotong), supaya hasil selalu terlihat di baris terpilih
+    private void searchStep() {
+        int size = steps.size();
+        for (int end = Math.min(size, searched + SEARCH_SLICE); searched < end; searched++) {
+            int line = (searchFrom + searched) % size;
+            if (StepListModel.line(steps, line).toLowerCase(Locale.ROOT).contains(query)) {
+                searchTimer.stop();
+                select(line);
+                status.setText("Baris " + (line + 1) + " dari " + size);
+                return;
+            }
+        }
+        if (searched == size) {
+            searchTimer.stop();
+            status.setText("Tidak ditemukan");
+        }
+    }
+
+    private void select(int line) {
+        list.setSelectedIndex(line);
+        list.ensureIndexIsVisible(line);
+    }
+
+    // lebar sel dari baris-baris awal, supaya JList tidak mengukur semua baris
+    private int cellWidth(FontMetrics metrics) {
+        int width = 0;
+        for (int i = 0, n = Math.min(steps.size(), MEASURED_LINES); i < n; i++) {
+            width = Math.max(width, metrics.stringWidth(StepListModel.line(steps, i)));
+        }
+        return Math.min(MAX_CELL_WIDTH, width + 10);
+    }
+
+    private static JLabel label(String text, Color foreground) {
+        JLabel label = new JLabel(text);
+        label.setForeground(foreground);
+        return label;
+    }
+
+    private static JTextField style(JTextField field, Color background, Color foreground) {
+        field.setBackground(background);
+        field.setForeground(foreground);
+        field.setCaretColor(foreground);
+        return field;
+    }
+
+    // model JList langsung di atas daftar langkah, tanpa menyalin baris
+    private static final class StepListModel extends AbstractListModel<String> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<String> steps;
+
+        private StepListModel(List<String> steps) {
+            this.steps = steps;
+        }
+
+        @Override
+        public int getSize() {
+            return steps.size();
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            return line(steps, index);
+        }
+
+        // baris ke-index yang ditampilkan, dipotong di MAX_LINE_CHARS; HillTrace dirender langsung dengan batas
+        private static String line(List<String> steps, int index) {
+            if (steps instanceof HillTrace) {
+                StringBuilder line = new StringBuilder();
+                if (((HillTrace) steps).appendLine(index, line, MAX_LINE_CHARS)) {
+                    line.append(" ...");
+                }
+                return line.toString();
+            }
+            String line = steps.get(index);
+            return line.length() <= MAX_LINE_CHARS ? line : line.substring(0, MAX_LINE_CHARS) + " ...";
+        }
+    }
+}
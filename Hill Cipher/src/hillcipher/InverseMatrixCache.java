@@ -0,0 +1,212 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// cache LRU berukuran terbatas untuk hasil invers matriks dan validitas kunci
+// dibagi ke beberapa segmen (masing-masing LRU sendiri dengan lock sendiri) supaya
+// thread yang memakai kunci berbeda tidak saling menunggu
+public final class InverseMatrixCache {
+
+    public static final int DEFAULT_CAPACITY = 512;
+
+    private static final int SEGMENTS = 16;
+    private static final InverseMatrixCache SHARED = new InverseMatrixCache(DEFAULT_CAPACITY);
+
+    private final int capacity;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public InverseMatrixCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Kapasitas cache minimal 1");
+        }
+        this.capacity = capacity;
+        // kapasitas kecil memakai lebih sedikit segmen (tetap pangkat dua), supaya setiap segmen muat minimal 1 entri
+        int count = Integer.highestOneBit(Math.min(SEGMENTS, capacity));
+        this.segments = new Segment[count];
+        // bagi kapasitas ke segmen, sisa pembagian ke segmen pertama
+        for (int i = 0; i < count; i++) {
+            int segmentCapacity = capacity / count + (i < capacity % count ? 1 : 0);
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    // cache bersama yang dipakai HillCipherUtility.findInverseMatrix dan isValidKey
+    public static InverseMatrixCache shared() {
+        return SHARED;
+    }
+
+    // invers matriks modulo mod (salinan, aman diubah pemanggil)
+    public int[][] inverse(int[][] matrix, int mod) {
+        Entry entry = lookup(matrix, mod);
+        if (entry.inverse == null) {
+            throw new IllegalArgumentException("Matriks tidak memiliki invers modulo " + mod);
+        }
+        return copy(entry.inverse);
+    }
+
+    // apakah matriks punya invers modulo mod
+    public boolean isValid(int[][] matrix, int mod) {
+        return lookup(matrix, mod).inverse != null;
+    }
+
+    public int getCapacity() { return capacity; }
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "InverseMatrixCache[size=" + size() + "/" + capacity + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+    }
+
+    private Entry lookup(int[][] matrix, int mod) {
+        MatrixKey key = new MatrixKey(matrix, mod);
+        Segment segment = segments[key.hash & (segments.length - 1)];
+
+        synchronized (segment) {
+            Entry entry = segment.get(key);
+            if (entry != null) {
+                hits.increment();
+                return entry;
+            }
+        }
+
+        // hitung di luar lock; kalau dua thread miss bersamaan, hasilnya sama saja
+        misses.increment();
+        Entry entry = compute(key);
+        synchronized (segment) {
+            segment.put(key, entry);
+        }
+        return entry;
+    }
+
+    // dihitung dari entri yang sudah direduksi di MatrixKey (bukan matriks mentah), jadi entri besar tidak
+    // membuat determinan overflow dan hasilnya sama untuk semua matriks dengan kunci cache yang sama
+    // kunci tidak valid langsung ketahuan dari invers determinan (-1), tanpa gcd terpisah
+    private static Entry compute(MatrixKey key) {
+        int[][] matrix = key.toMatrix();
+        int mod = key.mod;
+        int detInverse = ModularArithmetic.inverse(HillCipherUtility.determinant(matrix, mod), mod);
+        if (detInverse == -1) {
+            return new Entry(null);
+        }
+        return new Entry(HillCipherUtility.computeInverseMatrix(matrix, detInverse, mod));
+    }
+
+    private static int[][] copy(int[][] source) {
+        int[][] result = new int[source.length][];
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i].clone();
+        }
+        return result;
+    }
+
+    // hasil per kunci, inverse null kalau kunci tidak valid
+    private static final class Entry {
+        private final int[][] inverse;
+
+        private Entry(int[][] inverse) {
+            this.inverse = inverse;
+        }
+    }
+
+    // satu segmen LRU (LinkedHashMap urut akses), akses harus di dalam synchronized (segment)
+    private final class Segment extends LinkedHashMap<MatrixKey, Entry> {
+        private static final long serialVersionUID = 1L;
+
+        private final int segmentCapacity;
+
+        private Segment(int segmentCapacity) {
+            super(16, 0.75f, true);
+            this.segmentCapacity = segmentCapacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<MatrixKey, Entry> eldest) {
+            if (size() > segmentCapacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    // encoding kanonik matriks: modulus, ukuran dan entri yang sudah direduksi ke [0, mod)
+    // hash dihitung sekali di konstruktor
+    private static final class MatrixKey {
+        private final int mod;
+        private final int size;
+        private final int[] entries;
+        private final int hash;
+
+        private MatrixKey(int[][] matrix, int mod) {
+            int size = matrix.length;
+            this.mod = mod;
+            this.size = size;
+            this.entries = new int[size * size];
+            for (int i = 0; i < size; i++) {
+                if (matrix[i].length != size) {
+                    throw new IllegalArgumentException("Matriks harus persegi");
+                }
+                for (int j = 0; j < size; j++) {
+                    entries[i * size + j] = Math.floorMod(matrix[i][j], mod);
+                }
+            }
+            int h = 31 * mod + Arrays.hashCode(entries);
+            this.hash = h ^ (h >>> 16);
+        }
+
+        // matriks baru dari entri yang sudah direduksi
+        private int[][] toMatrix() {
+            int[][] matrix = new int[size][];
+            for (int i = 0; i < size; i++) {
+                matrix[i] = Arrays.copyOfRange(entries, i * size, i * size + size);
+            }
+            return matrix;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof MatrixKey)) {
+                return false;
+            }
+            MatrixKey key = (MatrixKey) other;
+            return hash == key.hash && mod == key.mod && Arrays.equals(entries, key.entries);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
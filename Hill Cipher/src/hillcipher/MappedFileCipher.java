@@ -0,0 +1,138 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// enkripsi file ke file lewat memory-mapped file (Foreign Function & Memory API)
+// file input dan output dipetakan sebagai MemorySegment (boleh > 2 GB) dan diproses per jendela:
+// satu buffer heap berukuran tetap dipakai ulang untuk normalisasi, perkalian blok lewat kernel HillKey
+// (tabel lookup / SIMD / GEMM sesuai kunci) dan render ke karakter
+// teks dibaca 1 byte per karakter, jadi alfabet harus ASCII/Latin-1
+// kalau gagal di tengah jalan file output dihapus
+public final class MappedFileCipher {
+
+    private static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+
+    // ukuran jendela (dibulatkan ke kelipatan ukuran blok saat dipakai)
+    private static final int WINDOW_SIZE = 1 << 20;
+
+    private MappedFileCipher() {
+    }
+
+    // enkripsi file input ke file output, padding ditambahkan di akhir
+    public static HillCipherStream.StreamResult encryptFile(Path input, Path output, HillKey key) throws IOException {
+        return run(input, output, key, true, 0);
+    }
+
+    // dekripsi file input ke file output, paddingCount karakter terakhir dibuang
+    public static HillCipherStream.StreamResult decryptFile(Path input, Path output, HillKey key, int paddingCount) throws IOException {
+        if (paddingCount < 0 || paddingCount >= key.getSize()) {
+            throw new IllegalArgumentException("Jumlah padding harus antara 0 dan " + (key.getSize() - 1));
+        }
+        return run(input, output, key, false, paddingCount);
+    }
+
+    private static HillCipherStream.StreamResult run(Path input, Path output, HillKey key, boolean encrypt, int paddingCount) throws IOException {
+        HillAlphabet alphabet = key.getAlphabet();
+        if (!alphabet.isSingleByte()) {
+            throw new IllegalArgumentException("Enkripsi file hanya untuk alfabet 1 byte per karakter");
+        }
+        if (Files.exists(output) && Files.isSameFile(input, output)) {
+            throw new IllegalArgumentException("File output tidak boleh sama dengan file input");
+        }
+        try {
+            return map(input, output, key, encrypt, paddingCount);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(output);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private static HillCipherStream.StreamResult map(Path input, Path output, HillKey key, boolean encrypt, int paddingCount) throws IOException {
+        HillAlphabet alphabet = key.getAlphabet();
+        int size = key.getSize();
+        byte[] window = new byte[WINDOW_SIZE / size * size];
+        long symbolCount;
+        long length;
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long inputSize = in.size();
+
+            // arena ditutup (segmen di-unmap) sebelum file output dipotong ke panjang akhir
+            try (Arena arena = Arena.ofConfined()) {
+                MemorySegment src = in.map(FileChannel.MapMode.READ_ONLY, 0, inputSize, arena);
+                // output paling panjang input + 1 blok padding
+                MemorySegment dst = out.map(FileChannel.MapMode.READ_WRITE, 0, inputSize + size, arena);
+
+                symbolCount = normalize(src, dst, alphabet, window);
+                if (encrypt) {
+                    length = symbolCount + HillCipherEngine.paddingFor((int) (symbolCount % size), size);
+                    for (long i = symbolCount; i < length; i++) {
+                        dst.set(BYTE, i, alphabet.getPaddingSymbol());
+                    }
+                } else {
+                    if (symbolCount % size != 0) {
+                        throw new IllegalArgumentException("Panjang ciphertext (" + symbolCount + ") harus kelipatan " + size);
+                    }
+                    length = symbolCount;
+                }
+
+                transform(dst, length, key, encrypt, window);
+                dst.force();
+            }
+
+            if (!encrypt) {
+                length = Math.max(0, length - paddingCount);
+                symbolCount = length;
+            }
+            out.truncate(length);
+        }
+        return new HillCipherStream.StreamResult(symbolCount, encrypt ? (int) (length - symbolCount) : 0);
+    }
+
+    // salin karakter alfabet dari src ke dst sebagai simbol per jendela, return jumlah simbol
+    private static long normalize(MemorySegment src, MemorySegment dst, HillAlphabet alphabet, byte[] window) {
+        long count = 0;
+        for (long from = 0, n = src.byteSize(); from < n; from += window.length) {
+            int read = (int) Math.min(window.length, n - from);
+            MemorySegment.copy(src, BYTE, from, window, 0, read);
+            int symbols = alphabet.normalize(window, 0, read, window, 0);
+            MemorySegment.copy(window, 0, dst, BYTE, count, symbols);
+            count += symbols;
+        }
+        return count;
+    }
+
+    // kalikan blok [0, length) di segmen dengan kernel kunci per jendela, hasil ditulis sebagai karakter
+    private static void transform(MemorySegment segment, long length, HillKey key, boolean encrypt, byte[] window) {
+        HillAlphabet alphabet = key.getAlphabet();
+        for (long from = 0; from < length; from += window.length) {
+            int count = (int) Math.min(window.length, length - from);
+            MemorySegment.copy(segment, BYTE, from, window, 0, count);
+            if (encrypt) {
+                key.encryptBlocks(window, window, 0, count);
+            } else {
+                key.decryptBlocks(window, window, 0, count);
+            }
+            alphabet.render(window, 0, count, window, 0);
+            MemorySegment.copy(window, 0, segment, BYTE, from, count);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// aritmetika modular bersama: invers modulo m dengan extended Euclid,
+// plus tabel invers yang dihitung sekali untuk modulus kecil (<= 4096),
+// dan reduksi multiply-shift (Reducer) supaya hasil kali titik cukup direduksi sekali per baris tanpa pembagian
+//
+// batas overflow (entri kunci dan simbol sudah di [0, m)):
+//   satu baris perkalian blok: n * (m - 1)^2, untuk n <= 16 dan m <= 256 paling besar
+//   16 * 255 * 255 = 1.040.400 < 2^21, jadi akumulasi int aman dan masih di domain Reducer.reduce
+//   kofaktor 2x2/3x3: |a*d - b*c| <= (m - 1)^2, setelah direduksi dikali invers determinan < m^2,
+//   keduanya < 2^31 selama m <= SAFE_PRODUCT_LIMIT
+public final class ModularArithmetic {
+
+    public static final int TABLE_LIMIT = 4096;
+
+    // modulus terbesar dengan m^2 < 2^31 (hasil kali dua residu muat di int)
+    public static final int SAFE_PRODUCT_LIMIT = 46340;
+
+    // tabel invers per modulus, dibangun saat pertama dipakai
+    private static final AtomicReferenceArray<int[]> TABLES = new AtomicReferenceArray<>(TABLE_LIMIT + 1);
+
+    private ModularArithmetic() {
+    }
+
+    // invers a modulo mod di [0, mod), -1 kalau gcd(a, mod) != 1
+    public static int inverse(long a, int mod) {
+        if (mod <= 0) {
+            throw new IllegalArgumentException("Modulus harus positif");
+        }
+        int value = (int) Math.floorMod(a, (long) mod);
+        if (mod <= TABLE_LIMIT) {
+            return table(mod)[value];
+        }
+        return extendedEuclid(value, mod);
+    }
+
+    // reducer multiply-shift untuk modulus mod
+    public static Reducer reducer(int mod) {
+        return new Reducer(mod);
+    }
+
+    // batas atas satu hasil kali titik baris: size * (mod - 1)^2
+    public static long dotProductBound(int size, int mod) {
+        return (long) size * (mod - 1) * (mod - 1);
+    }
+
+    // tabel invers untuk semua residu modulo mod
+    private static int[] table(int mod) {
+        int[] table = TABLES.get(mod);
+        if (table == null) {
+            table = new int[mod];
+            for (int i = 0; i < mod; i++) {
+                table[i] = extendedEuclid(i, mod);
+            }
+            // kalau thread lain sudah lebih dulu, pakai tabel miliknya
+            if (!TABLES.compareAndSet(mod, null, table)) {
+                table = TABLES.get(mod);
+            }
+        }
+        return table;
+    }
+
+    // extended Euclid: cari s dengan a*s = 1 (mod m), O(log m)
+    private static int extendedEuclid(int a, int mod) {
+        if (mod == 1) {
+            return 0;
+        }
+        long oldR = a, r = mod;
+        long oldS = 1, s = 0;
+        while (r != 0) {
+            long q = oldR / r;
+            long t = oldR - q * r;
+            oldR = r;
+            r = t;
+            t = oldS - q * s;
+            oldS = s;
+            s = t;
+        }
+        if (oldR != 1) {
+            return -1;
+        }
+        return (int) Math.floorMod(oldS, (long) mod);
+    }
+
+    // reduksi x mod m tanpa pembagian (Granlund-Montgomery):
+    // l = ceil(log2 m), s = 31 + l, magic = ceil(2^s / m), maka floor(x / m) = (x * magic) >>> s untuk 0 <= x < 2^31
+    // (galat magic * x / 2^s - x / m < 1 / m, tidak pernah melewati bilangan bulat berikutnya)
+    // magic <= 2^32 dan x < 2^31, jadi x * magic < 2^63 muat di long
+    public static final class Reducer {
+        private final int mod;
+        private final long magic;
+        private final int shift;
+
+        private Reducer(int mod) {
+            if (mod <= 0) {
+                throw new IllegalArgumentException("Modulus harus positif");
+            }
+            int log = 32 - Integer.numberOfLeadingZeros(mod - 1); // ceil(log2 mod)
+            this.mod = mod;
+            this.shift = 31 + log;
+            this.magic = ((1L << shift) + mod - 1) / mod;
+        }
+
+        public int getModulus() {
+            return mod;
+        }
+
+        // x mod m untuk x >= 0
+        public int reduce(int x) {
+            return x - (int) ((x * magic) >>> shift) * mod;
+        }
+
+        // floorMod(x, m) untuk x sembarang; x < 0 dipetakan ke -(x + 1) >= 0 supaya Integer.MIN_VALUE aman
+        public int floorMod(int x) {
+            if (x >= 0) {
+                return reduce(x);
+            }
+            return mod - 1 - reduce(-(x + 1));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+// operasi matriks NxN modulo m untuk kunci berukuran bebas
+// determinan dan invers dihitung dengan reduksi baris O(n^3), bukan ekspansi kofaktor;
+// semua perkalian di long dan selalu direduksi, jadi aman dari overflow
+public final class ModularMatrix {
+
+    private ModularMatrix() {
+    }
+
+    // determinan modulo mod, hasil di [0, mod)
+    // eliminasi dengan algoritma Euclid antar baris, jadi tetap benar untuk modulus komposit
+    public static int determinant(int[][] matrix, int mod) {
+        int size = matrix.length;
+        long[][] a = reduce(matrix, mod);
+        long det = 1;
+
+        for (int col = 0; col < size; col++) {
+            for (int row = col + 1; row < size; row++) {
+                // kurangi baris row dengan baris col sampai a[row][col] = 0
+                while (a[row][col] != 0) {
+                    long q = a[col][col] / a[row][col];
+                    for (int k = col; k < size; k++) {
+                        a[col][k] = Math.floorMod(a[col][k] - q * a[row][k], mod);
+                    }
+                    long[] tmp = a[col];
+                    a[col] = a[row];
+                    a[row] = tmp;
+                    det = mod - det; // tukar baris membalik tanda
+                }
+            }
+            if (a[col][col] == 0) {
+                return 0;
+            }
+            det = det * a[col][col] % mod;
+        }
+        return (int) (det % mod);
+    }
+
+    // invers matriks modulo mod
+    // modulus difaktorkan ke pangkat prima (mis. 26 = 2 x 13), Gauss-Jordan di tiap faktor, lalu digabung dengan CRT
+    public static int[][] inverse(int[][] matrix, int mod) {
+        int size = matrix.length;
+        int[][] result = new int[size][size];
+        long combinedMod = 1;
+
+        int rest = mod;
+        for (int p = 2; rest > 1; p++) {
+            if ((long) p * p > rest) {
+                p = rest; // sisa faktor adalah prima
+            }
+            if (rest % p != 0) {
+                continue;
+            }
+            int primePower = 1;
+            while (rest % p == 0) {
+                rest /= p;
+                primePower *= p;
+            }
+
+            long[][] part = gaussJordan(matrix, p, primePower, mod);
+
+            // gabungkan hasil modulo primePower dengan hasil sebelumnya (CRT)
+            long factor = ModularArithmetic.inverse(combinedMod, primePower);
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    long diff = Math.floorMod(part[i][j] - result[i][j], primePower);
+                    result[i][j] = (int) (result[i][j] + combinedMod * (diff * factor % primePower));
+                }
+            }
+            combinedMod *= primePower;
+        }
+        return result;
+    }
+
+    // invers modulo p^k dengan Gauss-Jordan, pivot harus unit (tidak habis dibagi p)
+    private static long[][] gaussJordan(int[][] matrix, int prime, int mod, int fullMod) {
+        int size = matrix.length;
+        long[][] a = reduce(matrix, mod);
+        long[][] inv = new long[size][size];
+        for (int i = 0; i < size; i++) {
+            inv[i][i] = 1 % mod;
+        }
+
+        for (int col = 0; col < size; col++) {
+            int pivot = col;
+            while (pivot < size && a[pivot][col] % prime == 0) {
+                pivot++;
+            }
+            if (pivot == size) {
+                throw new IllegalArgumentException("Matriks tidak memiliki invers modulo " + fullMod);
+            }
+            swap(a, col, pivot);
+            swap(inv, col, pivot);
+
+            // normalisasi baris pivot
+            long scale = ModularArithmetic.inverse(a[col][col], mod);
+            for (int k = 0; k < size; k++) {
+                a[col][k] = a[col][k] * scale % mod;
+                inv[col][k] = inv[col][k] * scale % mod;
+            }
+
+            // nol-kan kolom col di baris lain
+            for (int row = 0; row < size; row++) {
+                long f = a[row][col];
+                if (row == col || f == 0) {
+                    continue;
+                }
+                for (int k = 0; k < size; k++) {
+                    a[row][k] = Math.floorMod(a[row][k] - f * a[col][k], mod);
+                    inv[row][k] = Math.floorMod(inv[row][k] - f * inv[col][k], mod);
+                }
+            }
+        }
+        return inv;
+    }
+
+    // salin matriks ke long dengan entri di [0, mod)
+    private static long[][] reduce(int[][] matrix, int mod) {
+        int size = matrix.length;
+        long[][] a = new long[size][size];
+        for (int i = 0; i < size; i++) {
+            if (matrix[i].length != size) {
+                throw new IllegalArgumentException("Matriks harus persegi");
+            }
+            for (int j = 0; j < size; j++) {
+                a[i][j] = Math.floorMod(matrix[i][j], mod);
+            }
+        }
+        return a;
+    }
+
+    private static void swap(long[][] a, int i, int j) {
+        long[] tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+}
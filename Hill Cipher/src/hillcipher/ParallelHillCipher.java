@@ -0,0 +1,103 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// enkripsi paralel untuk input besar dengan fork/join
+// setelah normalisasi dan padding, setiap blok independen, jadi buffer simbol dibagi di batas blok
+// dan tiap segmen dienkripsi + dirender di thread berbeda; di bawah ambang tetap sekuensial
+public final class ParallelHillCipher {
+
+    // jumlah simbol minimum per segmen sebelum dibagi lagi
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private ParallelHillCipher() {
+    }
+
+    // enkripsi dengan common pool
+    public static String encrypt(CharSequence plaintext, HillKey key) {
+        return encrypt(plaintext, key, ForkJoinPool.commonPool());
+    }
+
+    public static String encrypt(CharSequence plaintext, HillKey key, ForkJoinPool pool) {
+        HillAlphabet alphabet = key.getAlphabet();
+        int size = key.getSize();
+        byte[] symbols = new byte[plaintext.length() + size];
+        int length = HillCipherEngine.pad(symbols, alphabet.normalize(plaintext, symbols, 0), size, alphabet);
+        return run(key, true, symbols, length, pool);
+    }
+
+    // dekripsi dengan common pool
+    public static String decrypt(CharSequence ciphertext, HillKey key) {
+        return decrypt(ciphertext, key, ForkJoinPool.commonPool());
+    }
+
+    public static String decrypt(CharSequence ciphertext, HillKey key, ForkJoinPool pool) {
+        int size = key.getSize();
+        byte[] symbols = new byte[ciphertext.length()];
+        int length = key.getAlphabet().normalize(ciphertext, symbols, 0);
+        if (length % size != 0) {
+            throw new IllegalArgumentException("Panjang ciphertext (" + length + ") harus kelipatan " + size);
+        }
+        return run(key, false, symbols, length, pool);
+    }
+
+    // enkripsi/dekripsi blok simbol [from, to) secara paralel (in-place)
+    public static void transform(HillKey key, boolean encrypt, byte[] symbols, int from, int to, ForkJoinPool pool) {
+        pool.invoke(new BlockTask(key, encrypt, symbols, null, from, to));
+    }
+
+    private static String run(HillKey key, boolean encrypt, byte[] symbols, int length, ForkJoinPool pool) {
+        char[] out = new char[length];
+        if (length < PARALLEL_THRESHOLD) {
+            new BlockTask(key, encrypt, symbols, out, 0, length).compute();
+        } else {
+            pool.invoke(new BlockTask(key, encrypt, symbols, out, 0, length));
+        }
+        return new String(out);
+    }
+
+    // satu segmen [from, to) yang selalu diawali dan diakhiri di batas blok
+    private static final class BlockTask extends RecursiveAction {
+        private final HillKey key;
+        private final boolean encrypt;
+        private final byte[] symbols;
+        private final char[] out; // null kalau tidak perlu dirender
+        private final int from;
+        private final int to;
+
+        private BlockTask(HillKey key, boolean encrypt, byte[] symbols, char[] out, int from, int to) {
+            this.key = key;
+            this.encrypt = encrypt;
+            this.symbols = symbols;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int size = key.getSize();
+            if (to - from <= PARALLEL_THRESHOLD) {
+                if (encrypt) {
+                    key.encryptBlocks(symbols, symbols, from, to);
+                } else {
+                    key.decryptBlocks(symbols, symbols, from, to);
+                }
+                if (out != null) {
+                    key.getAlphabet().render(symbols, from, to, out, from);
+                }
+                return;
+            }
+            // titik tengah dibulatkan ke batas blok
+            int mid = from + (to - from) / 2 / size * size;
+            invokeAll(new BlockTask(key, encrypt, symbols, out, from, mid),
+                      new BlockTask(key, encrypt, symbols, out, mid, to));
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Function;
+
+// dekripsi acak rentang simbol dari file ciphertext besar (mis. untuk preview dokumen arsip)
+// setiap blok Hill independen, jadi untuk simbol [from, from + length) cukup dibaca blok yang menutupinya
+// dengan pembacaan posisional FileChannel; sisa file tidak disentuh
+// mendukung file ciphertext mentah (1 byte per simbol, hanya karakter alfabet, mis. hasil MappedFileCipher)
+// dan container HillCipherContainer (indeks frame dibangun sekali saat dibuka dari header frame saja)
+public final class RandomAccessDecryptor implements Closeable {
+
+    private final FileChannel channel;
+    private final HillKey key;
+    private final boolean container;
+    private final long symbolCount;
+
+    // indeks frame container: simbol pertama frame ke-f (plus batas akhir di frameStart[frameCount])
+    // dan posisi byte data terkemasnya
+    private final long[] frameStart;
+    private final long[] frameData;
+    private final int frameCount;
+
+    private RandomAccessDecryptor(FileChannel channel, HillKey key, boolean container, long symbolCount,
+                                  long[] frameStart, long[] frameData, int frameCount) {
+        this.channel = channel;
+        this.key = key;
+        this.container = container;
+        this.symbolCount = symbolCount;
+        this.frameStart = frameStart;
+        this.frameData = frameData;
+        this.frameCount = frameCount;
+    }
+
+    // buka file ciphertext mentah; paddingCount simbol terakhir dianggap padding
+    public static RandomAccessDecryptor openRaw(Path file, HillKey key, int paddingCount) throws IOException {
+        if (!key.getAlphabet().isSingleByte()) {
+            throw new IllegalArgumentException("File ciphertext mentah hanya untuk alfabet 1 byte per karakter");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        long size = channel.size();
+        if (size % key.getSize() != 0 || paddingCount < 0 || paddingCount >= key.getSize() || paddingCount > size) {
+            channel.close();
+            throw new IllegalArgumentException("Panjang ciphertext (" + size + ") harus kelipatan " + key.getSize()
+                    + " dan padding antara 0 dan " + (key.getSize() - 1));
+        }
+        return new RandomAccessDecryptor(channel, key, false, size - paddingCount, null, null, 0);
+    }
+
+    // buka container, kunci dicari berdasarkan id di header
+    public static RandomAccessDecryptor openContainer(Path file, Function<String, HillKey> keys) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            // tanpa buffer, supaya posisi channel tepat di akhir header
+            HillCipherContainer.Header header = HillCipherContainer.readHeader(new DataInputStream(Channels.newInputStream(channel)));
+            HillKey key = keys.apply(header.getKeyId());
+            if (key == null) {
+                throw new IllegalArgumentException("Kunci dengan id '" + header.getKeyId() + "' tidak ditemukan");
+            }
+            if (key.getSize() != header.getBlockSize() || !key.getAlphabet().getSymbols().equals(header.getSymbols())) {
+                throw new IllegalArgumentException("Kunci '" + header.getKeyId() + "' tidak cocok dengan alfabet/ukuran blok container");
+            }
+
+            // indeks frame: hanya 4 byte jumlah simbol per frame yang dibaca
+            int[] shape = HillCipherContainer.groupShape(header.getModulus());
+            long[] starts = new long[16];
+            long[] data = new long[16];
+            int frames = 0;
+            long total = 0;
+            long position = channel.position();
+            int count;
+            while ((count = readInt(channel, position)) != 0) {
+                HillCipherContainer.checkFrame(count, key.getSize());
+                if (frames == starts.length) {
+                    starts = Arrays.copyOf(starts, frames * 2);
+                    data = Arrays.copyOf(data, frames * 2);
+                }
+                starts[frames] = total;
+                data[frames] = position + Integer.BYTES;
+                frames++;
+                total += count;
+                position += Integer.BYTES + (long) ((count + shape[0] - 1) / shape[0]) * shape[1];
+            }
+
+            long symbols = header.getSymbolCount();
+            int padding = header.getPaddingCount();
+            if (symbols == -1) {
+                ByteBuffer trailer = ByteBuffer.allocate(Long.BYTES + 1);
+                readFully(channel, trailer, position + Integer.BYTES);
+                symbols = trailer.getLong(0);
+                padding = trailer.get(Long.BYTES) & 0xFF;
+            }
+            if (symbols + padding != total) {
+                throw new IOException("Jumlah simbol/padding tidak sesuai dengan isi container");
+            }
+            starts = Arrays.copyOf(starts, frames + 1);
+            starts[frames] = total; // batas akhir frame terakhir
+            return new RandomAccessDecryptor(channel, key, true, symbols, starts, Arrays.copyOf(data, frames), frames);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // jumlah simbol plaintext (tanpa padding)
+    public long getSymbolCount() {
+        return symbolCount;
+    }
+
+    public HillKey getKey() {
+        return key;
+    }
+
+    // dekripsi simbol [from, from + length), return potongan plaintext persis sepanjang length
+    public String decrypt(long from, int length) throws IOException {
+        if (from < 0 || length < 0 || from + length > symbolCount) {
+            throw new IllegalArgumentException("Rentang [" + from + ", " + (from + length) + ") di luar 0.." + symbolCount);
+        }
+        int size = key.getSize();
+        long blockFrom = from / size * size;
+        long blockTo = (from + length + size - 1) / size * size;
+        byte[] symbols = new byte[(int) (blockTo - blockFrom)];
+
+        if (container) {
+            readContainer(blockFrom, blockTo, symbols);
+        } else {
+            readRaw(blockFrom, symbols);
+        }
+        key.decryptBlocks(symbols, symbols, 0, symbols.length);
+
+        char[] out = new char[length];
+        key.getAlphabet().render(symbols, (int) (from - blockFrom), (int) (from - blockFrom) + length, out, 0);
+        return new String(out);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // file mentah: simbol ke-i ada di byte ke-i
+    private void readRaw(long blockFrom, byte[] symbols) throws IOException {
+        readFully(channel, ByteBuffer.wrap(symbols), blockFrom);
+        int count = key.getAlphabet().normalize(symbols, 0, symbols.length, symbols, 0);
+        if (count != symbols.length) {
+            throw new IOException("File berisi karakter di luar alfabet, akses acak tidak bisa dipakai");
+        }
+    }
+
+    // container: baca hanya grup terkemas yang menutupi rentang di setiap frame yang beririsan
+    private void readContainer(long blockFrom, long blockTo, byte[] symbols) throws IOException {
+        int mod = key.getAlphabet().getModulus();
+        int[] shape = HillCipherContainer.groupShape(mod);
+        int perGroup = shape[0];
+        int bytes = shape[1];
+
+        int f = Arrays.binarySearch(frameStart, 0, frameCount, blockFrom);
+        if (f < 0) {
+            f = -f - 2;
+        }
+        for (long position = blockFrom; position < blockTo; f++) {
+            long first = position - frameStart[f];
+            long last = Math.min(blockTo, frameStart[f + 1]) - frameStart[f];
+            long firstGroup = first / perGroup;
+            long lastGroup = (last + perGroup - 1) / perGroup;
+
+            byte[] packed = new byte[(int) ((lastGroup - firstGroup) * bytes)];
+            readFully(channel, ByteBuffer.wrap(packed), frameData[f] + firstGroup * bytes);
+            byte[] groupSymbols = new byte[(int) ((lastGroup - firstGroup) * perGroup)];
+            HillCipherContainer.unpack(packed, 0, groupSymbols, 0, groupSymbols.length, mod);
+
+            int skip = (int) (first - firstGroup * perGroup);
+            int count = (int) (last - first);
+            System.arraycopy(groupSymbols, skip, symbols, (int) (position - blockFrom), count);
+            position += count;
+        }
+    }
+
+    private static int readInt(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+        readFully(channel, buffer, position);
+        return buffer.getInt(0);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("File ciphertext terpotong");
+            }
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import java.util.Arrays;
+
+// normalisasi teks ke angka dalam satu pass (pengganti toUpperCase + replaceAll + List<Integer>)
+// pemetaan karakter -> angka sepenuhnya dari HillAlphabet.ALPHANUMERIC, tabel yang sama dengan jalur enkripsi:
+// A-Z/a-z = 0..25, 0-9 = 26..35, karakter lain (termasuk huruf non-ASCII seperti 'ß') diabaikan
+// kelas ini hanya mengatur buffer: teks disalin per potongan dengan String.getChars ke buffer char milik
+// thread (untuk String Latin-1 ini hanya inflate byte, tanpa charAt per karakter)
+public final class TextNormalizer {
+
+    private static final HillAlphabet ALPHABET = HillAlphabet.ALPHANUMERIC;
+
+    private static final int CHUNK_SIZE = 1024;
+
+    // buffer angka milik thread yang lebih besar dari ini tidak disimpan
+    private static final int MAX_POOLED_SYMBOLS = 1 << 16;
+
+    private static final ThreadLocal<Buffers> POOL = ThreadLocal.withInitial(Buffers::new);
+
+    private TextNormalizer() {
+    }
+
+    // normalisasi text ke array angka baru (satu-satunya alokasi adalah array hasil)
+    public static int[] toNumbers(String text) {
+        Buffers buffers = POOL.get();
+        int[] symbols = buffers.symbols(text.length());
+        int count = normalize(buffers.chars, text, symbols, 0);
+        return Arrays.copyOf(symbols, count);
+    }
+
+    // normalisasi text ke out mulai dari offset, return jumlah angka yang ditulis
+    // setiap karakter menghasilkan paling banyak satu angka, jadi out cukup text.length() dari offset;
+    // kalau kurang dilempar IllegalArgumentException sebelum ada yang ditulis
+    public static int normalize(String text, int[] out, int offset) {
+        if (offset < 0 || out.length - offset < text.length()) {
+            throw new IllegalArgumentException("Buffer angka terlalu kecil untuk teks sepanjang " + text.length());
+        }
+        return normalize(POOL.get().chars, text, out, offset);
+    }
+
+    private static int normalize(char[] chunk, String text, int[] out, int offset) {
+        int count = offset;
+        for (int start = 0, length = text.length(); start < length; start += CHUNK_SIZE) {
+            int end = Math.min(length, start + CHUNK_SIZE);
+            text.getChars(start, end, chunk, 0);
+            count += ALPHABET.normalize(chunk, 0, end - start, out, count);
+        }
+        return count - offset;
+    }
+
+    // buffer per thread supaya normalisasi pesan pendek tidak alokasi
+    private static final class Buffers {
+        private final char[] chars = new char[CHUNK_SIZE];
+        private int[] symbols = new int[256];
+
+        private int[] symbols(int capacity) {
+            if (capacity <= symbols.length) {
+                return symbols;
+            }
+            int[] buffer = new int[capacity];
+            if (capacity <= MAX_POOLED_SYMBOLS) {
+                symbols = buffer;
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+
+package hillcipher;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// kernel blok SIMD dengan Vector API (jdk.incubator.vector)
+// blok diproses per tile dengan layout structure-of-arrays: cols[j][t] = simbol ke-j dari blok ke-t,
+// jadi satu instruksi vektor mengalikan simbol yang sama dari banyak blok sekaligus
+// class ini hanya boleh disentuh kalau HillCipherEngine.VECTOR_ENABLED true (modul sudah di-resolve JVM)
+final class VectorHillKernel {
+
+    private static final int TILE_BLOCKS = 512;
+
+    // float (mantissa 24 bit) menyimpan semua int < 2^24 dengan tepat
+    private static final long FLOAT_EXACT_LIMIT = 1L << 24;
+
+    private VectorHillKernel() {
+    }
+
+    // reduksi float di reduce() hanya tepat kalau hasil kali titik satu baris < 2^24
+    // (kunci sampai 16x16 dan alfabet sampai 256 simbol: 16 * 255 * 255 = 1.040.400)
+    static boolean supports(int size, int mod) {
+        return ModularArithmetic.dotProductBound(size, mod) < FLOAT_EXACT_LIMIT;
+    }
+
+    // kalikan blok [from, to) dengan kunci mod mod; sisa yang tidak genap satu tile diproses skalar
+    static void transform(int[] key, int size, int mod, byte[] in, byte[] out, int from, int to) {
+        VectorSpecies<Integer> species = IntVector.SPECIES_PREFERRED;
+        int tile = TILE_BLOCKS / species.length() * species.length();
+        int[][] cols = new int[size][tile];
+        int[][] rows = new int[size][tile];
+        float inverseMod = 1.0f / mod;
+
+        int tileSymbols = tile * size;
+        int b = from;
+        for (; b + tileSymbols <= to; b += tileSymbols) {
+            // transpose blok ke kolom (AoS -> SoA)
+            for (int t = 0, p = b; t < tile; t++, p += size) {
+                for (int j = 0; j < size; j++) {
+                    cols[j][t] = in[p + j] & 0xFF;
+                }
+            }
+
+            for (int t = 0; t < tile; t += species.length()) {
+                for (int i = 0; i < size; i++) {
+                    IntVector acc = IntVector.zero(species);
+                    int k = i * size;
+                    for (int j = 0; j < size; j++) {
+                        acc = acc.add(IntVector.fromArray(species, cols[j], t).mul(key[k + j]));
+                    }
+                    reduce(acc, mod, inverseMod).intoArray(rows[i], t);
+                }
+            }
+
+            // transpose balik (SoA -> AoS)
+            for (int t = 0, p = b; t < tile; t++, p += size) {
+                for (int i = 0; i < size; i++) {
+                    out[p + i] = (byte) rows[i][t];
+                }
+            }
+        }
+
+        if (b < to) {
+            HillCipherEngine.multiplyBlocks(key, size, mod, in, out, b, to);
+        }
+    }
+
+    // acc mod m tanpa pembagian integer: q = acc * (1/m) di float lalu dikoreksi
+    // acc < 2^24 (lihat supports), jadi exact di float dan q meleset paling banyak 1
+    private static IntVector reduce(IntVector acc, int mod, float inverseMod) {
+        FloatVector f = (FloatVector) acc.convert(VectorOperators.I2F, 0);
+        IntVector q = (IntVector) f.mul(inverseMod).convert(VectorOperators.F2I, 0);
+        IntVector r = acc.sub(q.mul(mod));
+        r = r.add(mod, r.compare(VectorOperators.LT, 0));
+        return r.sub(mod, r.compare(VectorOperators.GE, mod));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/UnitTests/JUnit4TestClass.java to edit this template
+ */
+
+package hillcipher;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+// enkripsi lalu dekripsi format-preserving harus mengembalikan teks asli persis
+public class FormatPreservingCipherTest {
+
+    // determinan -1, invertibel untuk modulus berapa pun
+    private static final int[][] KEY = {{1, 2}, {3, 5}};
+
+    private static final String TEXT = "weyNx, Hello World! 2024 ok?";
+
+    @Test
+    public void roundTripLatin() throws IOException {
+        assertEquals(TEXT, roundTrip(TEXT, HillKey.compile(KEY, HillAlphabet.LATIN)));
+    }
+
+    // ALPHANUMERIC abaikan huruf besar/kecil tapi angkanya tidak punya huruf besar/kecil:
+    // huruf kecil yang terenkripsi jadi angka kehilangan kapitalisasinya, jadi alfabet ini ditolak
+    @Test
+    public void alphanumericIsRejected() {
+        HillKey key = HillKey.compile(KEY, HillAlphabet.ALPHANUMERIC);
+        assertThrows(IllegalArgumentException.class, () -> FormatPreservingCipher.encrypt(TEXT, key));
+        assertThrows(IllegalArgumentException.class, () -> FormatPreservingCipher.decrypt(TEXT, key, 0));
+    }
+
+    // simbol ALPHANUMERIC dengan huruf besar/kecil dibedakan: huruf kecil tetap di posisinya
+    @Test
+    public void roundTripAlphanumericCaseSensitive() throws IOException {
+        HillAlphabet alphabet = HillAlphabet.of(HillAlphabet.ALPHANUMERIC.getSymbols(), false);
+        assertEquals(TEXT, roundTrip(TEXT, HillKey.compile(KEY, alphabet)));
+    }
+
+    @Test
+    public void roundTripAlphanumericCaseSensitiveEveryLength() throws IOException {
+        HillAlphabet alphabet = HillAlphabet.of(HillAlphabet.ALPHANUMERIC.getSymbols(), false);
+        int[][] key = {{1, 2, 0}, {0, 1, 3}, {0, 0, 1}};
+        for (int length = 0; length <= TEXT.length(); length++) {
+            String text = TEXT.substring(0, length);
+            assertEquals(text, roundTrip(text, HillKey.compile(key, alphabet)));
+        }
+    }
+
+    private static String roundTrip(String text, HillKey key) throws IOException {
+        StringWriter ciphertext = new StringWriter();
+        HillCipherStream.StreamResult result = FormatPreservingCipher.encrypt(new StringReader(text), ciphertext, key);
+        StringWriter plaintext = new StringWriter();
+        FormatPreservingCipher.decrypt(new StringReader(ciphertext.toString()), plaintext, key, result.getPaddingCount());
+        return plaintext.toString();
+    }
+}